@@ -0,0 +1,182 @@
+package plugins;
+
+import com.utility.ConfigReader;
+import com.utility.HttpPoolSettings;
+import com.utility.ProjectRouter;
+import com.utility.SyncOptions;
+import com.utility.SyncSession;
+import com.utility.TestCaseResult;
+import com.utility.ZephyrClient;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reports scenario results to Zephyr while the suite runs, without going through Allure files.
+ * Scenarios are matched to Jira issues by their tags: {@code @JIRA-TEST-123} reports to TEST-123.
+ *
+ * <p>Scenario threads only append to a lock-free queue; a background thread drains it in batches
+ * into a {@link SyncSession}, so retries are reduced and results routed per project exactly as in
+ * the Allure sync. TestRunFinished drains the queue and waits for every update before returning.
+ * A result the session refuses is counted and reported at the end; it never stops the reporting.
+ *
+ * <p>Enable with {@code --plugin plugins.ZephyrStreamingPlugin} or in {@code @CucumberOptions(plugin = ...)};
+ * it reads the same config.properties as the CLI from the working directory.
+ */
+public class ZephyrStreamingPlugin implements ConcurrentEventListener {
+    private static final String TAG_PREFIX = "@JIRA-";
+
+    private final Queue<TestCaseResult> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private int batchSize;
+    private long batchMillis;
+
+    private volatile boolean running;
+    private Thread drainer;
+    private ZephyrClient client;
+    private SyncOptions options;
+    private SyncSession session;
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> start());
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> finish());
+    }
+
+    /** Without a readable config.properties the suite still runs, just without reporting. */
+    private void start() {
+        try {
+            batchSize = ConfigReader.getInt("cucumber.batchSize", 100);
+            batchMillis = ConfigReader.getLong("cucumber.batchMillis", 1000);
+            client = new ZephyrClient(
+                ConfigReader.get("baseUrl"),
+                ConfigReader.get("accessKey"),
+                ConfigReader.get("secretKey"),
+                ConfigReader.get("accountId"),
+                HttpPoolSettings.fromConfig()
+            );
+            options = SyncOptions.fromConfig();
+            session = new SyncSession(client, ProjectRouter.fromConfig(), options);
+        } catch (Exception | ExceptionInInitializerError e) {
+            // ConfigReader fails in its static initializer when config.properties is missing
+            Throwable cause = e instanceof ExceptionInInitializerError && e.getCause() != null ? e.getCause() : e;
+            System.out.println("❗Zephyr reporting disabled: " + cause.getMessage());
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drainLoop, "zephyr-cucumber-reporter");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /** Runs on the scenario's thread: never waits on Zephyr, only queues and possibly wakes the drainer. */
+    private void onTestCaseFinished(TestCaseFinished event) {
+        if (!running) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        String status = allureStatus(event.getResult().getStatus());
+        String historyId = testCase.getUri() + ":" + testCase.getLocation().getLine();
+        long stop = event.getInstant().toEpochMilli();
+        for (String tag : testCase.getTags()) {
+            if (tag.startsWith(TAG_PREFIX) && tag.length() > TAG_PREFIX.length()) {
+                pending.offer(new TestCaseResult(tag.substring(TAG_PREFIX.length()), status, historyId, stop));
+                if (pendingCount.incrementAndGet() >= batchSize) {
+                    LockSupport.unpark(drainer);
+                }
+            }
+        }
+    }
+
+    /** Same vocabulary as Allure, so the sync's status mapping and reduction apply unchanged. */
+    static String allureStatus(Status status) {
+        switch (status) {
+            case PASSED: return "passed";
+            case FAILED: return "failed";
+            case AMBIGUOUS:
+            case UNDEFINED: return "broken";
+            default: return "skipped";
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            while (running) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(batchMillis));
+                drain();
+            }
+            drain();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** One batch; a failure is logged once per batch and only costs the results it hit. */
+    private void drain() throws InterruptedException {
+        int drained = 0;
+        int failed = 0;
+        RuntimeException failure = null;
+        TestCaseResult result;
+        while ((result = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            try {
+                session.add(result);
+                drained++;
+            } catch (RuntimeException e) {
+                failed++;
+                failure = e;
+            }
+        }
+        if (drained > 0) {
+            try {
+                session.flushChunk();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            dropped.addAndGet(failed);
+            System.out.printf("❗Zephyr reporting: batch failed, %d results dropped: %s%n", failed, failure);
+        }
+    }
+
+    private void finish() {
+        if (drainer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+            session.finish();
+            if (dropped.get() > 0) {
+                System.out.printf("❗%d results were dropped and not reported to Zephyr%n", dropped.get());
+            }
+            System.out.println("✅ Zephyr sync completed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("❗Interrupted while flushing results to Zephyr");
+        } catch (Exception e) {
+            System.out.println("❌ Zephyr sync failed: " + e.getMessage());
+        } finally {
+            client.getMetrics().export(options);
+            try {
+                client.close();
+            } catch (Exception e) {
+                System.out.println("❗Failed to close Zephyr client: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package runners;
+
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.testng.ITestContext;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+
+/**
+ * Runs every scenario as its own TestNG data-provider row, on as many threads as there are cores.
+ * Override with -Dscenario.threads=N; 1 runs the scenarios one after another.
+ */
+@CucumberOptions(
+        features = "src/test/resources/features",
+        glue = "steps",
+        plugin = {"pretty"}
+)
+public class ParallelCucumberRunner extends AbstractTestNGCucumberTests {
+
+    @BeforeClass(alwaysRun = true)
+    public void configureParallelism(ITestContext context) {
+        int threads = Integer.getInteger("scenario.threads", Runtime.getRuntime().availableProcessors());
+        context.getCurrentXmlTest().getSuite().setDataProviderThreadCount(Math.max(1, threads));
+    }
+
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        return super.scenarios();
+    }
+}
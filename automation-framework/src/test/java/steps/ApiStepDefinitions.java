@@ -1,26 +1,40 @@
 package steps;
 
+import com.utility.JsonSupport;
+import com.utility.SharedRequestSpec;
 import io.cucumber.java.en.*;
+import io.restassured.specification.RequestSpecification;
+
 import static io.restassured.RestAssured.*;
-import static org.hamcrest.Matchers.*;
 
 public class ApiStepDefinitions {
 
-    private String baseUrl = "https://jsonplaceholder.typicode.com";
-    private io.restassured.response.Response response;
+    /** Built once for the whole run and only read afterwards, so every scenario thread can share it. */
+    private static final RequestSpecification API = SharedRequestSpec.forBaseUri(
+            System.getProperty("api.baseUrl", "https://jsonplaceholder.typicode.com"));
+
+    private final ScenarioContext context = new ScenarioContext();
+
+    static class UserPayload {
+        public final String name;
+
+        UserPayload(String name) {
+            this.name = name;
+        }
+    }
 
     @Given("I create a new user with name {string}")
     public void i_create_a_new_user(String name) {
-        String payload = "{ \"name\": \"" + name + "\" }";
-        response = given()
+        String payload = JsonSupport.write(new UserPayload(name));
+        context.setResponse(given(API)
                         .header("Content-Type", "application/json")
                         .body(payload)
                    .when()
-                        .post(baseUrl + "/users");
+                        .post("/users"));
     }
 
     @Then("the response status should be {int}")
     public void the_response_status_should_be(int statusCode) {
-        response.then().statusCode(statusCode);
+        context.getResponse().then().statusCode(statusCode);
     }
 }
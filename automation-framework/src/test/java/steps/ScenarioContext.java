@@ -0,0 +1,22 @@
+package steps;
+
+import io.restassured.response.Response;
+
+/**
+ * State of the scenario being run. Cucumber creates new step definition instances for every
+ * scenario, so each scenario gets its own context even when scenarios run in parallel.
+ */
+public class ScenarioContext {
+    private Response response;
+
+    public Response getResponse() {
+        if (response == null) {
+            throw new IllegalStateException("No request has been sent in this scenario yet");
+        }
+        return response;
+    }
+
+    public void setResponse(Response response) {
+        this.response = response;
+    }
+}
@@ -0,0 +1,56 @@
+package com.utility;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AllureParserBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int files;
+
+    @Param({"20"})
+    public int steps;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void writeResults() throws IOException {
+        directory = Files.createTempDirectory("allure-bench");
+        SyntheticResults.write(directory, files, steps);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteResults() throws IOException {
+        SyntheticResults.delete(directory);
+    }
+
+    @Benchmark
+    public void treeParse(Blackhole blackhole) throws IOException {
+        blackhole.consume(AllureParser.parseResults(directory.toString()));
+    }
+
+    @Benchmark
+    public void streamingParse(Blackhole blackhole) throws IOException {
+        try (Stream<TestCaseResult> results = AllureParser.streamResults(directory.toString())) {
+            results.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void streamingParseSingleThread(Blackhole blackhole) throws IOException {
+        try (Stream<TestCaseResult> results = AllureParser.streamResults(directory.toString(), 1)) {
+            results.forEach(blackhole::consume);
+        }
+    }
+}
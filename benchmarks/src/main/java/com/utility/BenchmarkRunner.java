@@ -0,0 +1,18 @@
+package com.utility;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .resultFormat(ResultFormatType.JSON)
+            .result(System.getProperty("jmh.result", "target/jmh-result.json"))
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,35 @@
+package com.utility;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String BASE_URL = "https://example.atlassian.net";
+    private static final String ACCESS_KEY = "bench-access-key";
+    private static final String SECRET_KEY = "bench-secret-key-bench-secret-key";
+
+    private long executionId;
+
+    @Benchmark
+    public String cachedToken() {
+        return JwtGenerator.generateJwt("PUT", "/public/rest/api/1.0/execution/1/execute", BASE_URL, ACCESS_KEY, SECRET_KEY);
+    }
+
+    @Benchmark
+    public String freshToken() {
+        String uri = "/public/rest/api/1.0/execution/" + (executionId++) + "/execute";
+        return JwtGenerator.generateJwt("PUT", uri, BASE_URL, ACCESS_KEY, SECRET_KEY);
+    }
+
+    @Benchmark
+    public String qshWithQuery() {
+        return QshCalculator.calculateQsh("GET", "/public/rest/api/1.0/cycles/search?versionId=-1&projectId=10000&expand=executionSummaries");
+    }
+}
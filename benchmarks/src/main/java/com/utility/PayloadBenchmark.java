@@ -0,0 +1,48 @@
+package com.utility;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PayloadBenchmark {
+    @Param({"100", "5000"})
+    public int keys;
+
+    private List<String> issueKeys;
+
+    @Setup
+    public void createKeys() {
+        issueKeys = new ArrayList<>(keys);
+        for (int i = 0; i < keys; i++) {
+            issueKeys.add("JIRA-" + i);
+        }
+    }
+
+    @Benchmark
+    public String cyclePayload() {
+        return ZephyrClient.cyclePayload("Automation Cycle - 2026-01-01", 10000, -1);
+    }
+
+    @Benchmark
+    public String executionsPayload() {
+        return ZephyrClient.executionsPayload(issueKeys, "12345", 10000);
+    }
+
+    @Benchmark
+    public String statusPayload() {
+        return ZephyrClient.statusPayload(2);
+    }
+
+    @Benchmark
+    public String bulkStatusPayload() {
+        return ZephyrClient.bulkStatusPayload(issueKeys, 1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.utility;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SyncBenchmark {
+    @Param({"1000"})
+    public int results;
+
+    @Param({"single", "bulk"})
+    public String updateMode;
+
+    private Path directory;
+    private FakeZephyrServer server;
+    private ZephyrClient client;
+    private SyncOptions options;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        directory = Files.createTempDirectory("allure-sync-bench");
+        SyntheticResults.write(directory, results, 5);
+        server = new FakeZephyrServer();
+        client = new ZephyrClient(server.baseUrl(), "bench-access-key", "bench-secret-key", "bench-account");
+
+        options = new SyncOptions();
+        options.resultsDir = directory.toString();
+        options.bulkUpdates = "bulk".equals(updateMode);
+        options.initialConcurrency = 16;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        client.close();
+        server.close();
+        SyntheticResults.delete(directory);
+    }
+
+    @Benchmark
+    public void fullSync() throws IOException {
+        AllureToZephyrSync.run(client, 10000, options);
+    }
+}
@@ -0,0 +1,230 @@
+package com.utility;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of {@link RestClient}. Requests go through one shared NIO client, so
+ * thousands of calls can be in flight on a few I/O reactor threads. Results are RestAssured
+ * {@link Response}s, so {@link ResponseHandler} and jsonPath work on them as usual.
+ *
+ * <p>timeout.ms bounds connecting, waiting for a pooled connection and each read, as it does for
+ * {@link SharedRequestSpec}, so a dead server fails the future instead of leaving it pending.
+ *
+ * <p>Futures complete on a reactor thread; use the *Async variants of thenApply/thenCompose for
+ * anything heavier than reading the response.
+ */
+public class AsyncRestClient {
+    private static final int MAX_CONNECTIONS = 200;
+    private static final int TIMEOUT = ConfigManager.getInt("timeout.ms", 30000);
+
+    private static volatile CloseableHttpAsyncClient client;
+
+    private static CloseableHttpAsyncClient client() {
+        CloseableHttpAsyncClient current = client;
+        if (current == null) {
+            synchronized (AsyncRestClient.class) {
+                current = client;
+                if (current == null) {
+                    AtomicInteger threads = new AtomicInteger();
+                    ProxyConfig.useSettings(key -> ConfigManager.get(key, null));
+                    current = ProxyConfig.apply(HttpAsyncClients.custom())
+                        .setMaxConnTotal(MAX_CONNECTIONS)
+                        .setMaxConnPerRoute(MAX_CONNECTIONS)
+                        .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectTimeout(TIMEOUT)
+                            .setSocketTimeout(TIMEOUT)
+                            .setConnectionRequestTimeout(TIMEOUT)
+                            .build())
+                        .setDefaultIOReactorConfig(IOReactorConfig.custom()
+                            .setIoThreadCount(Runtime.getRuntime().availableProcessors())
+                            .build())
+                        .setThreadFactory(runnable -> {
+                            Thread thread = new Thread(runnable, "async-rest-" + threads.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        })
+                        .build();
+                    current.start();
+                    client = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public static CompletableFuture<Response> get(String uri, Map<String, String> headers, Map<String, String> queryParams) {
+        return execute(new HttpGet(), uri, headers, null, queryParams);
+    }
+
+    public static CompletableFuture<Response> post(String uri, Map<String, String> headers, Object body, Map<String, String> queryParams) {
+        return execute(new HttpPost(), uri, headers, body, queryParams);
+    }
+
+    public static CompletableFuture<Response> put(String uri, Map<String, String> headers, Object body, Map<String, String> queryParams) {
+        return execute(new HttpPut(), uri, headers, body, queryParams);
+    }
+
+    private static CompletableFuture<Response> execute(HttpRequestBase request, String uri, Map<String, String> headers,
+                                                       Object body, Map<String, String> queryParams) {
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        try {
+            URIBuilder builder = new URIBuilder(uri);
+            if (queryParams != null) {
+                queryParams.forEach(builder::addParameter);
+            }
+            request.setURI(builder.build());
+            if (headers != null) {
+                headers.forEach(request::setHeader);
+            }
+            if (body != null) {
+                ((HttpEntityEnclosingRequestBase) request).setEntity(new ByteArrayEntity(serialize(body), ContentType.APPLICATION_JSON));
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        client().execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    result.complete(toResponse(response));
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private static byte[] serialize(Object body) {
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        if (body instanceof String) {
+            return ((String) body).getBytes(StandardCharsets.UTF_8);
+        }
+        return JsonSupport.writeBytes(body);
+    }
+
+    private static Response toResponse(HttpResponse response) throws IOException {
+        List<Header> headers = new ArrayList<>();
+        for (org.apache.http.Header header : response.getAllHeaders()) {
+            headers.add(new Header(header.getName(), header.getValue()));
+        }
+        HttpEntity entity = response.getEntity();
+        byte[] body = entity != null ? EntityUtils.toByteArray(entity) : new byte[0];
+        String contentType = entity != null && entity.getContentType() != null
+            ? entity.getContentType().getValue() : ContentType.APPLICATION_JSON.getMimeType();
+
+        return new ResponseBuilder()
+            .setStatusCode(response.getStatusLine().getStatusCode())
+            .setStatusLine(response.getStatusLine().toString())
+            .setHeaders(new Headers(headers))
+            .setContentType(contentType)
+            .setBody(body)
+            .build();
+    }
+
+    /** Completes with every result in input order once all futures are done; fails if any of them failed. */
+    public static <T> CompletableFuture<List<T>> allOf(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<T> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Calls {@code call} for every input with at most {@code maxInFlight} calls outstanding, starting
+     * the next one from the completion of the previous instead of blocking a thread on it. Results are
+     * in input order; a failed call fails the returned future but does not stop the others.
+     */
+    public static <I, T> CompletableFuture<List<T>> fanOut(List<I> inputs, Function<I, CompletableFuture<T>> call, int maxInFlight) {
+        List<CompletableFuture<T>> results = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            results.add(new CompletableFuture<>());
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger wanted = new AtomicInteger();
+        Runnable[] startNext = new Runnable[1];
+        // Calls that complete synchronously would otherwise recurse; only one thread runs the loop
+        // at a time and re-entrant requests just bump the counter.
+        startNext[0] = () -> {
+            if (wanted.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                int index = next.getAndIncrement();
+                if (index >= inputs.size()) {
+                    continue;
+                }
+                CompletableFuture<T> started;
+                try {
+                    started = call.apply(inputs.get(index));
+                } catch (RuntimeException e) {
+                    started = new CompletableFuture<>();
+                    started.completeExceptionally(e);
+                }
+                started.whenComplete((value, error) -> {
+                    if (error != null) {
+                        results.get(index).completeExceptionally(error);
+                    } else {
+                        results.get(index).complete(value);
+                    }
+                    startNext[0].run();
+                });
+            } while (wanted.decrementAndGet() != 0);
+        };
+        for (int i = 0; i < Math.max(1, maxInFlight); i++) {
+            startNext[0].run();
+        }
+        return allOf(results);
+    }
+
+    public static synchronized void shutdown() throws IOException {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+}
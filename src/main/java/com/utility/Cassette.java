@@ -0,0 +1,151 @@
+package com.utility;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Recorded HTTP exchanges on disk: {@code <name>.data} holds the responses back to back, and
+ * {@code <name>.idx} maps each request key (method, path with query, body hash) to the offset of its
+ * response, one tab-separated line per recording. The index line is written after the data, so a
+ * crash mid-record leaves an unindexed tail that is never read. A request recorded more than once
+ * keeps every answer, in order.
+ *
+ * <p>Data record: int status, int header bytes, "Name: value\n" headers, int body bytes, body.
+ */
+public class Cassette {
+    private static final Set<String> UNRECORDED_HEADERS = new HashSet<>(Arrays.asList("set-cookie", "date"));
+
+    private final Path dataFile;
+    private final Path indexFile;
+    private final Map<String, List<Long>> index = new HashMap<>();
+    private MappedByteBuffer data;
+
+    public static class Recording {
+        public final int status;
+        public final Map<String, String> headers;
+        public final byte[] body;
+
+        public Recording(int status, Map<String, String> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    public Cassette(Path base) throws IOException {
+        Path directory = base.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        this.dataFile = directory.resolve(base.getFileName() + ".data");
+        this.indexFile = directory.resolve(base.getFileName() + ".idx");
+        loadIndex();
+    }
+
+    private void loadIndex() throws IOException {
+        if (!Files.exists(indexFile) || !Files.exists(dataFile)) {
+            return;
+        }
+        long dataSize = Files.size(dataFile);
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.lastIndexOf('\t');
+                if (tab <= 0) {
+                    continue;
+                }
+                try {
+                    long offset = Long.parseLong(line.substring(tab + 1));
+                    if (offset < dataSize) {
+                        index.computeIfAbsent(line.substring(0, tab), k -> new ArrayList<>()).add(offset);
+                    }
+                } catch (NumberFormatException e) {
+                    // torn last line
+                }
+            }
+        }
+    }
+
+    /** Request key used for matching: method, path and query without scheme or host, and a body hash. */
+    public static String key(String method, String url, String body) {
+        String path = url.replaceFirst("^[a-zA-Z][a-zA-Z0-9+.-]*://[^/]*", "");
+        return method.toUpperCase() + "|" + (path.isEmpty() ? "/" : path) + "|" + sha256(body != null ? body : "");
+    }
+
+    /** The first 128 bits are plenty to tell request bodies apart. */
+    private static String sha256(String text) {
+        return HashSupport.hex(HashSupport.sha256(text), 16);
+    }
+
+    public synchronized int size() {
+        int recordings = 0;
+        for (List<Long> offsets : index.values()) {
+            recordings += offsets.size();
+        }
+        return recordings;
+    }
+
+    public synchronized void record(String key, Recording recording) throws IOException {
+        StringBuilder headers = new StringBuilder();
+        for (Map.Entry<String, String> header : recording.headers.entrySet()) {
+            if (!UNRECORDED_HEADERS.contains(header.getKey().toLowerCase())) {
+                headers.append(header.getKey()).append(": ").append(header.getValue()).append('\n');
+            }
+        }
+        byte[] headerBytes = headers.toString().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(12 + headerBytes.length + recording.body.length);
+        record.putInt(recording.status).putInt(headerBytes.length).put(headerBytes)
+            .putInt(recording.body.length).put(recording.body);
+        record.flip();
+
+        long offset;
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            offset = channel.size();
+            while (record.hasRemaining()) {
+                channel.write(record, offset + record.position());
+            }
+        }
+        try (Writer writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(key + "\t" + offset + "\n");
+        }
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(offset);
+        data = null;
+    }
+
+    /** The {@code occurrence}-th recording for the key (the last one once they run out), or null. */
+    public synchronized Recording find(String key, int occurrence) throws IOException {
+        List<Long> offsets = index.get(key);
+        if (offsets == null) {
+            return null;
+        }
+        if (data == null) {
+            try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        ByteBuffer record = data.duplicate();
+        record.position((int) (long) offsets.get(Math.min(occurrence, offsets.size() - 1)));
+        int status = record.getInt();
+        byte[] headerBytes = new byte[record.getInt()];
+        record.get(headerBytes);
+        byte[] body = new byte[record.getInt()];
+        record.get(body);
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String line : new String(headerBytes, StandardCharsets.UTF_8).split("\n")) {
+            int colon = line.indexOf(": ");
+            if (colon > 0) {
+                headers.put(line.substring(0, colon), line.substring(colon + 2));
+            }
+        }
+        return new Recording(status, headers, body);
+    }
+}
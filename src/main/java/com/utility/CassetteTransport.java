@@ -0,0 +1,112 @@
+package com.utility;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transports backed by a {@link Cassette}. Record mode sends through the live transport and keeps
+ * every exchange; replay mode answers from the cassette in-process, without opening a socket. When a
+ * request was recorded several times, replay returns the answers in recorded order. Mock mode is
+ * replay that answers unrecorded requests with a canned 200 instead of failing.
+ */
+public class CassetteTransport implements HttpTransport {
+    private final Cassette cassette;
+    private final HttpTransport live;
+    private final boolean mock;
+    private final ConcurrentMap<String, AtomicInteger> replayed = new ConcurrentHashMap<>();
+
+    private CassetteTransport(Cassette cassette, HttpTransport live, boolean mock) {
+        this.cassette = cassette;
+        this.live = live;
+        this.mock = mock;
+    }
+
+    public static CassetteTransport record(HttpTransport live, Path cassette) {
+        System.out.println("⏺️ Recording API calls to cassette: " + cassette);
+        return new CassetteTransport(open(cassette), live, false);
+    }
+
+    public static CassetteTransport replay(Path cassette) {
+        Cassette opened = open(cassette);
+        System.out.println("⚠️ REPLAY MODE - serving " + opened.size() + " recorded API calls from: " + cassette);
+        return new CassetteTransport(opened, null, false);
+    }
+
+    public static CassetteTransport mock(Path cassette) {
+        Cassette opened = open(cassette);
+        System.out.println("⚠️ MOCK MODE ENABLED - serving " + opened.size() + " recorded API calls from: " + cassette
+            + ", a canned response for the rest");
+        return new CassetteTransport(opened, null, true);
+    }
+
+    private static Cassette open(Path cassette) {
+        try {
+            return new Cassette(cassette);
+        } catch (IOException e) {
+            throw new UncheckedIOException("❌ Cannot open cassette: " + cassette, e);
+        }
+    }
+
+    @Override
+    public Response send(String method, String url, Map<String, String> headers, String body) {
+        String key = Cassette.key(method, url, body);
+        try {
+            return live != null ? record(key, live.send(method, url, headers, body)) : replay(key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("❌ Cassette I/O failed for " + method + " " + url, e);
+        }
+    }
+
+    private Response record(String key, Response response) throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : response.getHeaders()) {
+            headers.put(header.getName(), header.getValue());
+        }
+        cassette.record(key, new Cassette.Recording(response.getStatusCode(), headers, response.asByteArray()));
+        return response;
+    }
+
+    private Response replay(String key) throws IOException {
+        int occurrence = replayed.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        Cassette.Recording recording = cassette.find(key, occurrence);
+        if (recording == null && mock) {
+            return new ResponseBuilder()
+                .setStatusCode(200)
+                .setStatusLine("HTTP/1.1 200")
+                .setContentType("application/json")
+                .setBody("{ \"id\": \"mock-id-123\", \"status\": \"success\" }")
+                .build();
+        }
+        if (recording == null) {
+            throw new RuntimeException("❌ No recorded response for " + key.substring(0, key.lastIndexOf('|'))
+                + " with this body; record it with transport.mode=record");
+        }
+        List<Header> headers = new ArrayList<>();
+        ResponseBuilder builder = new ResponseBuilder();
+        for (Map.Entry<String, String> header : recording.headers.entrySet()) {
+            headers.add(new Header(header.getKey(), header.getValue()));
+            if (header.getKey().equalsIgnoreCase("Content-Type")) {
+                builder.setContentType(header.getValue());
+            }
+        }
+        return builder
+            .setStatusCode(recording.status)
+            .setStatusLine("HTTP/1.1 " + recording.status)
+            .setHeaders(new Headers(headers))
+            .setBody(recording.body)
+            .build();
+    }
+}
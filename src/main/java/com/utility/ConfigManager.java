@@ -3,12 +3,20 @@ package com.utility;
 import java.io.InputStream;
 import java.util.Properties;
 
+/**
+ * Settings from config.properties on the classpath. Without one every lookup returns its default, so
+ * RestClient and the shared request spec also work in modules that ship no config.
+ */
 public class ConfigManager {
     private static final Properties props = new Properties();
 
     static {
         try (InputStream input = ConfigManager.class.getClassLoader().getResourceAsStream("config.properties")) {
-            props.load(input);
+            if (input == null) {
+                System.out.println("⚠️ No config.properties on the classpath, using defaults");
+            } else {
+                props.load(input);
+            }
         } catch (Exception e) {
             throw new RuntimeException("❌ Failed to load config.properties", e);
         }
@@ -18,11 +26,31 @@ public class ConfigManager {
         return props.getProperty(key);
     }
 
+    public static String get(String key, String defaultValue) {
+        String value = props.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
     public static int getInt(String key) {
         return Integer.parseInt(props.getProperty(key));
     }
 
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
     public static boolean getBoolean(String key) {
         return Boolean.parseBoolean(props.getProperty(key));
     }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
 }
@@ -0,0 +1,264 @@
+package com.utility;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last N request/response exchanges in a ring buffer instead of printing each one, and
+ * writes them out only when a call fails (status >= 400 or an exception) or is slower than the
+ * threshold. Secret headers are redacted when an exchange is recorded, and only the head of the
+ * response body is kept, as raw bytes; decoding and formatting happen on a background thread when a
+ * dump is written, so the request path never waits on stdout or disk.
+ */
+public class ExchangeLogFilter implements Filter {
+    private static final Set<String> DEFAULT_REDACTED = new HashSet<>(Arrays.asList(
+        "authorization", "proxy-authorization", "cookie", "set-cookie", "zapiaccesskey", "zapisecretkey"));
+
+    private final String mode;
+    private final int maxBodyChars;
+    private final long slowThresholdMs;
+    private final Set<String> redactedHeaders;
+    private final String dumpFile;
+
+    private final AtomicReferenceArray<Exchange> ring;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong droppedDumps = new AtomicLong();
+    private final ThreadPoolExecutor writer;
+
+    static class Exchange {
+        final long seq;
+        final long startedAt;
+        final String thread;
+        final String method;
+        final String uri;
+        final String requestHeaders;
+        final String requestBody;
+        final int status;
+        final String responseHeaders;
+        /** Enough leading bytes of the response body for maxBodyChars characters. */
+        final byte[] responseBody;
+        final int responseBodyBytes;
+        final long durationMs;
+        final String error;
+        private final AtomicBoolean dumped = new AtomicBoolean();
+
+        Exchange(long seq, long startedAt, String thread, String method, String uri, String requestHeaders,
+                 String requestBody, int status, String responseHeaders, byte[] responseBody, int responseBodyBytes,
+                 long durationMs, String error) {
+            this.seq = seq;
+            this.startedAt = startedAt;
+            this.thread = thread;
+            this.method = method;
+            this.uri = uri;
+            this.requestHeaders = requestHeaders;
+            this.requestBody = requestBody;
+            this.status = status;
+            this.responseHeaders = responseHeaders;
+            this.responseBody = responseBody;
+            this.responseBodyBytes = responseBodyBytes;
+            this.durationMs = durationMs;
+            this.error = error;
+        }
+
+        /** True for the one dump that gets to write this exchange. */
+        boolean claim() {
+            return dumped.compareAndSet(false, true);
+        }
+    }
+
+    /**
+     * Mode is buffered (the default), all (RestAssured's log().all() on every call) or off. Dumps are
+     * appended to {@code dumpFile}, or printed to stdout when it is null.
+     */
+    public ExchangeLogFilter(String mode, int capacity, int maxBodyChars, long slowThresholdMs,
+                             Collection<String> extraRedactedHeaders, String dumpFile) {
+        this.mode = mode.toLowerCase();
+        this.maxBodyChars = maxBodyChars;
+        this.slowThresholdMs = slowThresholdMs;
+        this.dumpFile = dumpFile;
+        this.redactedHeaders = new HashSet<>(DEFAULT_REDACTED);
+        for (String header : extraRedactedHeaders) {
+            redactedHeaders.add(header.trim().toLowerCase());
+        }
+        this.ring = new AtomicReferenceArray<>(Math.max(1, capacity));
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(64), runnable -> {
+            Thread thread = new Thread(runnable, "exchange-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        }, (task, executor) -> droppedDumps.incrementAndGet());
+    }
+
+    public static ExchangeLogFilter fromConfig() {
+        String redact = ConfigManager.get("log.redactHeaders", "");
+        return new ExchangeLogFilter(
+            ConfigManager.get("log.mode", "buffered"),
+            ConfigManager.getInt("log.bufferSize", 200),
+            ConfigManager.getInt("log.maxBodyChars", 2000),
+            ConfigManager.getLong("log.slowThresholdMs", 5000),
+            redact.isEmpty() ? Collections.<String>emptyList() : Arrays.asList(redact.split(",")),
+            ConfigManager.get("log.dumpFile", null));
+    }
+
+    /** The filters to add to a request for the configured mode. */
+    public List<Filter> filters() {
+        switch (mode) {
+            case "all":
+                return Arrays.<Filter>asList(new RequestLoggingFilter(), new ResponseLoggingFilter());
+            case "off":
+                return Collections.emptyList();
+            default:
+                return Collections.<Filter>singletonList(this);
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(request, responseSpec);
+        } catch (RuntimeException e) {
+            record(request, startedAt, start, null, e.toString());
+            throw e;
+        }
+        record(request, startedAt, start, response, null);
+        return response;
+    }
+
+    private void record(FilterableRequestSpecification request, long startedAt, long start, Response response, String error) {
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long seq = sequence.incrementAndGet();
+        Object body = request.getBody();
+        byte[] responseBody = response != null ? response.asByteArray() : new byte[0];
+        Exchange exchange = new Exchange(seq, startedAt, Thread.currentThread().getName(), request.getMethod(),
+            request.getURI(), headers(request.getHeaders()), body != null ? truncate(body.toString()) : "",
+            response != null ? response.getStatusCode() : -1,
+            response != null ? headers(response.getHeaders()) : "",
+            head(responseBody), responseBody.length, durationMs, error);
+        ring.set((int) ((seq - 1) % ring.length()), exchange);
+
+        if (error != null || exchange.status >= 400) {
+            dump("failed " + exchange.method + " " + exchange.uri + (error != null ? " (" + error + ")" : " -> " + exchange.status), exchange);
+        } else if (slowThresholdMs > 0 && durationMs > slowThresholdMs) {
+            dump("slow " + exchange.method + " " + exchange.uri + " took " + durationMs + " ms", exchange);
+        }
+    }
+
+    private String headers(Headers headers) {
+        StringBuilder out = new StringBuilder();
+        for (Header header : headers) {
+            String value = redactedHeaders.contains(header.getName().toLowerCase()) ? "[REDACTED]" : header.getValue();
+            out.append("    ").append(header.getName()).append(": ").append(value).append('\n');
+        }
+        return out.toString();
+    }
+
+    private String truncate(String text) {
+        if (text.length() <= maxBodyChars) {
+            return text;
+        }
+        int end = maxBodyChars > 0 && Character.isHighSurrogate(text.charAt(maxBodyChars - 1)) ? maxBodyChars - 1 : maxBodyChars;
+        return text.substring(0, end) + "... [" + (text.length() - end) + " more chars]";
+    }
+
+    /** A UTF-8 character takes at most three bytes per UTF-16 char, so this many bytes decode to maxBodyChars chars. */
+    private byte[] head(byte[] bytes) {
+        long limit = Math.max(0, maxBodyChars) * 3L;
+        return bytes.length <= limit ? bytes : Arrays.copyOf(bytes, (int) limit);
+    }
+
+    /** Decoded before cutting, so a multi-byte character is never split; only called when dumping. */
+    private String responseBody(Exchange exchange) {
+        String text = new String(exchange.responseBody, StandardCharsets.UTF_8);
+        if (exchange.responseBody.length == exchange.responseBodyBytes && text.length() <= maxBodyChars) {
+            return text;
+        }
+        int end = Math.min(text.length(), maxBodyChars);
+        if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        String kept = text.substring(0, end);
+        return kept + "... [" + (exchange.responseBodyBytes - kept.getBytes(StandardCharsets.UTF_8).length) + " more bytes]";
+    }
+
+    /**
+     * Queues a dump of every buffered exchange not written yet, up to and including the one that
+     * triggered it. The trigger is always part of its own dump unless a concurrent dump already has
+     * it: a later exchange can fail and dump first, before this one has reached the ring.
+     */
+    private void dump(String reason, Exchange trigger) {
+        List<Exchange> pending = new ArrayList<>();
+        for (int i = 0; i < ring.length(); i++) {
+            Exchange exchange = ring.get(i);
+            if (exchange != null && exchange != trigger && exchange.seq <= trigger.seq && exchange.claim()) {
+                pending.add(exchange);
+            }
+        }
+        if (trigger.claim()) {
+            pending.add(trigger);
+        }
+        if (!pending.isEmpty()) {
+            writer.execute(() -> write(reason, pending));
+        }
+    }
+
+    private void write(String reason, List<Exchange> exchanges) {
+        exchanges.sort(Comparator.comparingLong(e -> e.seq));
+        SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss.SSS");
+        StringBuilder out = new StringBuilder();
+        out.append("❗Request log dump: ").append(reason).append(" (").append(exchanges.size()).append(" recent exchanges");
+        long dropped = droppedDumps.getAndSet(0);
+        if (dropped > 0) {
+            out.append(", ").append(dropped).append(" earlier dumps dropped");
+        }
+        out.append(")\n");
+        for (Exchange e : exchanges) {
+            out.append("--- #").append(e.seq).append(' ').append(time.format(new Date(e.startedAt)))
+                .append(" [").append(e.thread).append("] ").append(e.method).append(' ').append(e.uri)
+                .append(" -> ").append(e.error != null ? e.error : String.valueOf(e.status))
+                .append(" in ").append(e.durationMs).append(" ms\n");
+            out.append("  Request headers:\n").append(e.requestHeaders);
+            if (!e.requestBody.isEmpty()) {
+                out.append("  Request body: ").append(e.requestBody).append('\n');
+            }
+            out.append("  Response headers:\n").append(e.responseHeaders);
+            if (e.responseBodyBytes > 0) {
+                out.append("  Response body: ").append(responseBody(e)).append('\n');
+            }
+        }
+
+        if (dumpFile == null) {
+            System.out.print(out);
+            return;
+        }
+        try (Writer file = Files.newBufferedWriter(Paths.get(dumpFile), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            file.write(out.toString());
+        } catch (IOException e) {
+            System.out.println("❗Failed to write request log dump: " + e.getMessage());
+        }
+    }
+}
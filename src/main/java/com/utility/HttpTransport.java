@@ -0,0 +1,34 @@
+package com.utility;
+
+import io.restassured.response.Response;
+
+import java.nio.file.Paths;
+import java.util.Map;
+
+/** Sends one HTTP request. Lets callers swap the network for a recorded cassette. */
+public interface HttpTransport {
+    Response send(String method, String url, Map<String, String> headers, String body);
+
+    /**
+     * Wraps the live transport according to transport.mode: live (the default), record (live calls
+     * are also written to the cassette) or replay (answers come from the cassette, nothing is sent).
+     * mock.mode=true replays too, but answers requests missing from the cassette with the canned
+     * { "id": "mock-id-123", "status": "success" } response.
+     */
+    static HttpTransport fromConfig(HttpTransport live) {
+        String mode = ConfigManager.getBoolean("mock.mode", false) ? "mock" : ConfigManager.get("transport.mode", "live");
+        String cassette = ConfigManager.get("transport.cassette", "src/test/resources/cassettes/api");
+        switch (mode.toLowerCase()) {
+            case "record":
+                return CassetteTransport.record(live, Paths.get(cassette));
+            case "replay":
+                return CassetteTransport.replay(Paths.get(cassette));
+            case "mock":
+                return CassetteTransport.mock(Paths.get(cassette));
+            case "live":
+                return live;
+            default:
+                throw new IllegalArgumentException("❌ Unknown transport.mode: " + mode);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.utility;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Two-tier string cache for Jira/Zephyr metadata that rarely changes, such as issue key to issue ID
+ * or cycle name to cycle ID. The memory tier is a size-bounded LRU; the disk tier is a tab-separated
+ * file under the cache directory, so later runs (and other CI jobs sharing the directory) start warm.
+ * Both tiers honour the TTL. Misses are handed to the loader together, so they can be resolved with
+ * one batch request instead of one call per key.
+ */
+public class MetadataCache {
+    private final String namespace;
+    private final long ttlMs;
+    private final int maxDiskEntries;
+    private final Path file;
+    private final LinkedHashMap<String, CachedValue> memory;
+
+    private final Set<String> invalidated = new HashSet<>();
+    private Map<String, CachedValue> disk;
+    private boolean dirty;
+
+    private static class CachedValue {
+        final String value;
+        final long expiresAt;
+
+        CachedValue(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean expired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    public MetadataCache(String namespace, int maxEntries, long ttlMs, Path directory, int maxDiskEntries) {
+        this.namespace = namespace;
+        this.ttlMs = ttlMs;
+        this.maxDiskEntries = maxDiskEntries;
+        this.file = directory != null ? directory.resolve(namespace + ".cache") : null;
+        this.memory = new LinkedHashMap<String, CachedValue>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedValue> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized String get(String key) {
+        long now = System.currentTimeMillis();
+        CachedValue entry = memory.get(key);
+        if (entry == null) {
+            entry = disk().get(key);
+            if (entry != null && !entry.expired(now)) {
+                memory.put(key, entry);
+            }
+        }
+        if (entry == null || entry.expired(now)) {
+            memory.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(String key, String value) {
+        CachedValue entry = new CachedValue(value, System.currentTimeMillis() + ttlMs);
+        memory.put(key, entry);
+        disk().put(key, entry);
+        invalidated.remove(key);
+        dirty = true;
+    }
+
+    public synchronized void invalidate(String key) {
+        memory.remove(key);
+        disk().remove(key);
+        invalidated.add(key);
+        dirty = true;
+    }
+
+    /** Drops every key that maps to {@code value}, e.g. all names of a cycle that was deleted. */
+    public synchronized void invalidateValue(String value) {
+        Set<String> keys = new HashSet<>();
+        for (Map.Entry<String, CachedValue> entry : memory.entrySet()) {
+            if (entry.getValue().value.equals(value)) {
+                keys.add(entry.getKey());
+            }
+        }
+        for (Map.Entry<String, CachedValue> entry : disk().entrySet()) {
+            if (entry.getValue().value.equals(value)) {
+                keys.add(entry.getKey());
+            }
+        }
+        for (String key : keys) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Returns the cached values for the given keys and resolves all misses with a single loader call.
+     * Keys the loader cannot resolve are left out of the result and are not cached.
+     */
+    public Map<String, String> getAll(Collection<String> keys, Function<Set<String>, Map<String, String>> loader) {
+        Map<String, String> found = new LinkedHashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String key : keys) {
+            String value = get(key);
+            if (value != null) {
+                found.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, String> loaded = loader.apply(missing);
+            for (Map.Entry<String, String> entry : loaded.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+                if (missing.contains(entry.getKey())) {
+                    found.put(entry.getKey(), entry.getValue());
+                }
+            }
+            if (!loaded.isEmpty()) {
+                save();
+            }
+        }
+        return found;
+    }
+
+    private Map<String, CachedValue> disk() {
+        if (disk == null) {
+            disk = new HashMap<>();
+            if (file != null) {
+                readInto(disk);
+            }
+        }
+        return disk;
+    }
+
+    private void readInto(Map<String, CachedValue> target) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length != 3) {
+                    continue;
+                }
+                CachedValue entry = new CachedValue(fields[1], Long.parseLong(fields[2]));
+                CachedValue existing = target.get(fields[0]);
+                if (!entry.expired(now) && (existing == null || existing.expiresAt < entry.expiresAt)) {
+                    target.put(fields[0], entry);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("❗Ignoring unreadable " + namespace + " cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes new entries to the disk tier. Entries another run saved in the meantime are merged in,
+     * and the file is replaced atomically so concurrent readers never see a partial file.
+     */
+    public synchronized void save() {
+        if (file == null || !dirty) {
+            return;
+        }
+        Map<String, CachedValue> merged = new HashMap<>();
+        readInto(merged);
+        merged.keySet().removeAll(invalidated);
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, CachedValue> entry : disk().entrySet()) {
+            CachedValue existing = merged.get(entry.getKey());
+            if (!entry.getValue().expired(now) && (existing == null || existing.expiresAt < entry.getValue().expiresAt)) {
+                merged.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        List<Map.Entry<String, CachedValue>> entries = new ArrayList<>(merged.entrySet());
+        if (entries.size() > maxDiskEntries) {
+            entries.sort((a, b) -> Long.compare(b.getValue().expiresAt, a.getValue().expiresAt));
+            entries = entries.subList(0, maxDiskEntries);
+        }
+
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), namespace, ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, CachedValue> entry : entries) {
+                    if (!storable(entry.getKey()) || !storable(entry.getValue().value)) {
+                        continue;
+                    }
+                    out.write(entry.getKey() + "\t" + entry.getValue().value + "\t" + entry.getValue().expiresAt + "\n");
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            invalidated.clear();
+            dirty = false;
+        } catch (IOException e) {
+            System.out.println("❗Failed to save " + namespace + " cache: " + e.getMessage());
+        }
+    }
+
+    private static boolean storable(String text) {
+        return text.indexOf('\t') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0;
+    }
+}
@@ -1,22 +1,36 @@
 package com.utility;
 
-import java.util.HashMap;
-import java.util.Map;
-
+/** Request bodies as typed payloads, serialized up front through JsonSupport's cached writers. */
 public class PayloadBuilder {
-    public static Map<String, Object> buildCyclePayload(String name, int projectId, int versionId) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("name", name);
-        payload.put("projectId", projectId);
-        payload.put("versionId", versionId);
-        return payload;
+    public static String buildCyclePayload(String name, int projectId, int versionId) {
+        return JsonSupport.write(new CyclePayload(name, projectId, versionId));
+    }
+
+    public static String buildAddTestPayload(String issueId, String cycleId, String projectId) {
+        return JsonSupport.write(new AddTestPayload(issueId, cycleId, projectId));
     }
 
-    public static Map<String, Object> buildAddTestPayload(String issueId, String cycleId, String projectId) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("issueId", issueId);
-        payload.put("cycleId", cycleId);
-        payload.put("projectId", projectId);
-        return payload;
+    static class CyclePayload {
+        public final String name;
+        public final int projectId;
+        public final int versionId;
+
+        CyclePayload(String name, int projectId, int versionId) {
+            this.name = name;
+            this.projectId = projectId;
+            this.versionId = versionId;
+        }
+    }
+
+    static class AddTestPayload {
+        public final String issueId;
+        public final String cycleId;
+        public final String projectId;
+
+        AddTestPayload(String issueId, String cycleId, String projectId) {
+            this.issueId = issueId;
+            this.cycleId = cycleId;
+            this.projectId = projectId;
+        }
     }
-}
\ No newline at end of file
+}
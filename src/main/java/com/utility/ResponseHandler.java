@@ -2,8 +2,16 @@ package com.utility;
 
 import io.restassured.response.Response;
 
+import java.util.List;
+
 public class ResponseHandler {
+    /** Reads one value by key ("id", "execution.id", "issues[0].id" or a JSON pointer) without a GPath evaluation. */
     public static String getValueByKey(Response response, String key) {
-        return response.jsonPath().getString(key);
+        return JsonSupport.readString(response.asByteArray(), key);
+    }
+
+    /** {@code field} of every element of the array at {@code arrayKey}; "" is a top-level array. */
+    public static List<String> getValues(Response response, String arrayKey, String field) {
+        return JsonSupport.readStrings(response.asByteArray(), arrayKey, field);
     }
-}
\ No newline at end of file
+}
@@ -9,7 +9,7 @@ import static io.restassured.RestAssured.given;
 public class RestClient {
 
     public static Response get(String uri, Map<String, String> headers, Map<String, String> queryParams) {
-        io.restassured.specification.RequestSpecification request = given().headers(headers);
+        io.restassured.specification.RequestSpecification request = given(SharedRequestSpec.base()).headers(headers);
 
         if (queryParams != null && !queryParams.isEmpty()) {
             request.queryParams(queryParams);
@@ -19,7 +19,7 @@ public class RestClient {
     }
 
     public static Response post(String uri, Map<String, String> headers, Object body, Map<String, String> queryParams) {
-        io.restassured.specification.RequestSpecification request = given().headers(headers).body(body);
+        io.restassured.specification.RequestSpecification request = given(SharedRequestSpec.base()).headers(headers).body(body);
 
         if (queryParams != null && !queryParams.isEmpty()) {
             request.queryParams(queryParams);
@@ -30,7 +30,7 @@ public class RestClient {
 
     public static Response put(String uri, Map<String, String> headers, Object body, Map<String, String> queryParams) {
 
-        io.restassured.specification.RequestSpecification request = given().headers(headers).body(body);
+        io.restassured.specification.RequestSpecification request = given(SharedRequestSpec.base()).headers(headers).body(body);
         if (queryParams != null && !queryParams.isEmpty()) {
             request.queryParams(queryParams);
         }
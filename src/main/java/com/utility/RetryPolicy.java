@@ -0,0 +1,164 @@
+package com.utility;
+
+import io.restassured.response.Response;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries HTTP calls on transient failures only: retryable status codes (408, 425, 429, 500, 502,
+ * 503 and 504 by default) and I/O exceptions such as timeouts or refused connections. The wait
+ * before attempt n is drawn uniformly from [0, min(maxDelay, baseDelay * 2^n)] ("full jitter"), so clients that were
+ * throttled together do not come back together, and a server Retry-After is honoured as a minimum.
+ * No attempt starts after the per-call deadline.
+ *
+ * <p>A call that is not idempotent (POST, PATCH) is only retried when the server cannot have acted on
+ * it: the connection was never made or dropped before any response, or the status says the request was
+ * turned away (408, 425, 429, 503). A read timeout or a 500 after a POST may mean it was processed.
+ */
+public class RetryPolicy {
+    private static final Set<Integer> NOT_PROCESSED_STATUSES = new HashSet<>(Arrays.asList(408, 425, 429, 503));
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final long deadlineMs;
+    private final Set<Integer> retryableStatuses;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMs, long maxDelayMs, long deadlineMs, Set<Integer> retryableStatuses) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.deadlineMs = deadlineMs;
+        this.retryableStatuses = retryableStatuses;
+    }
+
+    public static RetryPolicy fromConfig() {
+        Set<Integer> statuses = new HashSet<>();
+        for (String code : ConfigManager.get("retry.statusCodes", "408,425,429,500,502,503,504").split(",")) {
+            statuses.add(Integer.parseInt(code.trim()));
+        }
+        return new RetryPolicy(
+            ConfigManager.getInt("max.retries", 3),
+            ConfigManager.getLong("retry.baseDelayMs", 200),
+            ConfigManager.getLong("retry.maxDelayMs", 10000),
+            ConfigManager.getLong("retry.deadlineMs", 60000),
+            statuses);
+    }
+
+    public static boolean isIdempotent(String method) {
+        return !"POST".equalsIgnoreCase(method) && !"PATCH".equalsIgnoreCase(method);
+    }
+
+    public boolean isRetryable(int statusCode) {
+        return isRetryable(statusCode, true);
+    }
+
+    public boolean isRetryable(int statusCode, boolean idempotent) {
+        return retryableStatuses.contains(statusCode) && (idempotent || NOT_PROCESSED_STATUSES.contains(statusCode));
+    }
+
+    public boolean isRetryable(Throwable error) {
+        return isRetryable(error, true);
+    }
+
+    public boolean isRetryable(Throwable error, boolean idempotent) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return idempotent || isNotSent(cause);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNotSent(Throwable error) {
+        return error instanceof ConnectException || error instanceof ConnectTimeoutException
+            || error instanceof ConnectionPoolTimeoutException || error instanceof UnknownHostException
+            || error instanceof NoHttpResponseException;
+    }
+
+    public Response execute(String description, Callable<Response> call) {
+        return execute(description, true, call);
+    }
+
+    /**
+     * Runs the call until it returns a non-retryable status, attempts run out or the deadline passes.
+     * Returns the last response, whatever its status; throws the last exception if no call returned.
+     */
+    public Response execute(String description, boolean idempotent, Callable<Response> call) {
+        long deadline = System.currentTimeMillis() + deadlineMs;
+        Response response = null;
+        RuntimeException lastError = null;
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            long retryAfterMs = 0;
+            try {
+                response = call.call();
+                lastError = null;
+                if (!isRetryable(response.getStatusCode(), idempotent)) {
+                    return response;
+                }
+                retryAfterMs = retryAfterMs(response);
+                System.out.printf("❗Attempt %d of %s failed: %s%n", attempt, description, response.getStatusLine());
+            } catch (Exception e) {
+                if (!isRetryable(e, idempotent)) {
+                    throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+                }
+                lastError = e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+                System.out.printf("❗Attempt %d of %s failed with exception: %s%n", attempt, description, e.getMessage());
+            }
+
+            if (attempt == maxAttempts) {
+                break;
+            }
+            long delay = Math.max(backoffMs(attempt), retryAfterMs);
+            if (System.currentTimeMillis() + delay >= deadline) {
+                System.out.printf("⏳ Giving up on %s: next attempt would pass the %d ms deadline%n", description, deadlineMs);
+                break;
+            }
+            sleep(delay);
+        }
+
+        if (lastError != null) {
+            throw lastError;
+        }
+        return response;
+    }
+
+    /** Full-jitter exponential backoff for the wait after the given (1-based) attempt. */
+    long backoffMs(int attempt) {
+        long cap = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt, 30));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static long retryAfterMs(Response response) {
+        String retryAfter = response.getHeader("Retry-After");
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("❌ Interrupted while waiting to retry", e);
+        }
+    }
+}
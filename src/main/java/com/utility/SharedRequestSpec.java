@@ -0,0 +1,72 @@
+package com.utility;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+
+/**
+ * RestAssured settings for code that sends requests from many threads at once. Instead of changing
+ * the global {@code RestAssured.config}, callers start from {@code given(SharedRequestSpec.base())};
+ * the spec is built once and never modified, and every request borrows a connection from one
+ * shared pool, so parallel scenarios keep their connections alive instead of reconnecting.
+ *
+ * <p>RestAssured only returns a connection to the pool once the body has been read, so the spec
+ * reads it right away; a caller that only checks the status code would otherwise hold its
+ * connection forever.
+ *
+ * <p>Requests go through the proxy configured in {@link ProxyConfig}, if any; the proxy.* settings of
+ * config.properties are installed when the class loads.
+ */
+public class SharedRequestSpec {
+    static {
+        ProxyConfig.useSettings(key -> ConfigManager.get(key, null));
+    }
+
+    private static final int TIMEOUT = ConfigManager.getInt("timeout.ms", 30000);
+    private static final int MAX_CONNECTIONS = ConfigManager.getInt("http.maxConnections",
+        Math.max(50, Runtime.getRuntime().availableProcessors() * 16));
+
+    @SuppressWarnings("deprecation")
+    private static final PoolingClientConnectionManager POOL = createPool();
+    private static final RequestSpecification BASE = new RequestSpecBuilder()
+        .setConfig(config())
+        .addFilter((request, response, ctx) -> {
+            Response result = ctx.next(request, response);
+            result.asByteArray();
+            return result;
+        })
+        .build();
+
+    // RestAssured still builds its clients on the pre-4.3 HttpClient API, so the pool has to be the deprecated one
+    @SuppressWarnings("deprecation")
+    private static PoolingClientConnectionManager createPool() {
+        PoolingClientConnectionManager pool = new PoolingClientConnectionManager();
+        pool.setMaxTotal(MAX_CONNECTIONS);
+        pool.setDefaultMaxPerRoute(MAX_CONNECTIONS);
+        return pool;
+    }
+
+    /** A new lightweight client per request over the shared pool; nothing per-request is shared between threads. */
+    public static RestAssuredConfig config() {
+        return RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+            .httpClientFactory(() -> ProxyConfig.newClient(POOL))
+            .setParam("http.connection.timeout", TIMEOUT)
+            .setParam("http.socket.timeout", TIMEOUT)
+            .setParam("http.connection-manager.timeout", (long) TIMEOUT));
+    }
+
+    public static RequestSpecification base() {
+        return BASE;
+    }
+
+    /** The shared settings plus a base URI, for suites that call a single service. */
+    public static RequestSpecification forBaseUri(String baseUri) {
+        return new RequestSpecBuilder()
+            .addRequestSpecification(BASE)
+            .setBaseUri(baseUri)
+            .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.utility;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for running blocking API calls concurrently. In virtual mode every task gets its own
+ * Java 21 virtual thread, so thousands of calls sleeping in retry backoff cost a few hundred bytes
+ * each instead of a platform stack. The module still targets Java 8, so the factory is looked up
+ * reflectively and older runtimes fall back to a bounded pool of platform threads.
+ */
+public class TaskExecutors {
+
+    public static ExecutorService create(boolean virtualThreads, int platformThreads, String prefix) {
+        if (virtualThreads) {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.out.println("⚠️ Virtual threads need Java 21+, falling back to " + platformThreads + " platform threads");
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, platformThreads), runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Uses execution.mode (virtual or platform) and execution.platformThreads from config.properties. */
+    public static ExecutorService fromConfig(String prefix) {
+        boolean virtual = "virtual".equalsIgnoreCase(ConfigManager.get("execution.mode", "platform"));
+        return create(virtual, ConfigManager.getInt("execution.platformThreads", 32), prefix);
+    }
+}
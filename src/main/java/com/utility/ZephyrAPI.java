@@ -3,11 +3,17 @@ package com.utility;
 import io.restassured.response.Response;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Map;
-import java.util.Properties;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class ZephyrAPI {
+    private static final int ISSUE_SEARCH_BATCH = 100;
+
     private final Properties config = new Properties();
+    private final MetadataCache issueIds;
+    private final MetadataCache cycleIds;
 
     public ZephyrAPI() {
         try {
@@ -15,19 +21,166 @@ public class ZephyrAPI {
         } catch (IOException e) {
             e.printStackTrace();
         }
+
+        String cacheDir = config.getProperty("cache.dir", ".zephyr-cache");
+        int maxEntries = Integer.parseInt(config.getProperty("cache.maxEntries", "10000"));
+        int maxDiskEntries = Integer.parseInt(config.getProperty("cache.maxDiskEntries", "100000"));
+        long issueTtl = TimeUnit.HOURS.toMillis(Long.parseLong(config.getProperty("cache.issueTtlHours", "720")));
+        long cycleTtl = TimeUnit.HOURS.toMillis(Long.parseLong(config.getProperty("cache.cycleTtlHours", "24")));
+        this.issueIds = new MetadataCache("issue-ids", maxEntries, issueTtl, Paths.get(cacheDir), maxDiskEntries);
+        this.cycleIds = new MetadataCache("cycle-ids", maxEntries, cycleTtl, Paths.get(cacheDir), maxDiskEntries);
     }
 
     public Response createCycle(String name, int projectId, int versionId) {
-        Map<String, Object> body = PayloadBuilder.buildCyclePayload(name, projectId, versionId);
+        String body = PayloadBuilder.buildCyclePayload(name, projectId, versionId);
         Map<String, String> headers = HeaderBuilder.buildHeaders("POST", false);
         String endpoint = config.getProperty("zephyr.createCycle.endpoint");
         return RestClient.post(config.getProperty("jira.baseUrl") + endpoint, headers, body,null);
     }
 
     public Response addTestToCycle(String issueId, String cycleId, String projectId) {
-        Map<String, Object> body = PayloadBuilder.buildAddTestPayload(issueId, cycleId, projectId);
+        String body = PayloadBuilder.buildAddTestPayload(issueId, cycleId, projectId);
         Map<String, String> headers = HeaderBuilder.buildHeaders("POST", true);
         String endpoint = config.getProperty("zephyr.addTestToCycle.endpoint");
         return RestClient.post(config.getProperty("jira.baseUrl") + endpoint, headers, body,null);
     }
-}
\ No newline at end of file
+
+    public CompletableFuture<Response> createCycleAsync(String name, int projectId, int versionId) {
+        String body = PayloadBuilder.buildCyclePayload(name, projectId, versionId);
+        Map<String, String> headers = HeaderBuilder.buildHeaders("POST", false);
+        String endpoint = config.getProperty("zephyr.createCycle.endpoint");
+        return AsyncRestClient.post(config.getProperty("jira.baseUrl") + endpoint, headers, body, null);
+    }
+
+    public CompletableFuture<Response> addTestToCycleAsync(String issueId, String cycleId, String projectId) {
+        String body = PayloadBuilder.buildAddTestPayload(issueId, cycleId, projectId);
+        Map<String, String> headers = HeaderBuilder.buildHeaders("POST", true);
+        String endpoint = config.getProperty("zephyr.addTestToCycle.endpoint");
+        return AsyncRestClient.post(config.getProperty("jira.baseUrl") + endpoint, headers, body, null);
+    }
+
+    /** Adds all tests to the cycle concurrently, with at most zephyr.async.maxInFlight calls outstanding. */
+    public CompletableFuture<List<Response>> addTestsToCycleAsync(List<String> issueIds, String cycleId, String projectId) {
+        int maxInFlight = Integer.parseInt(config.getProperty("zephyr.async.maxInFlight", "64"));
+        return AsyncRestClient.fanOut(issueIds, issueId -> addTestToCycleAsync(issueId, cycleId, projectId), maxInFlight);
+    }
+
+    /**
+     * Adds the test identified by its issue key, resolving the issue ID through the metadata cache. A
+     * 400 or 404 may mean a cached ID is stale: the issue is resolved once more and the call repeated if
+     * its ID changed, and the cycle is dropped from the cache so the next getOrCreateCycle looks it up again.
+     */
+    public Response addTestToCycleByKey(String issueKey, String cycleId, String projectId) {
+        String issueId = resolveIssueIds(Collections.singletonList(issueKey)).get(issueKey);
+        if (issueId == null) {
+            throw new RuntimeException("❌ Jira issue not found: " + issueKey);
+        }
+        Response response = addTestToCycle(issueId, cycleId, projectId);
+        if (!isStale(response)) {
+            return response;
+        }
+
+        issueIds.invalidate(issueKey);
+        cycleIds.invalidateValue(cycleId);
+        cycleIds.save();
+        String resolved = resolveIssueIds(Collections.singletonList(issueKey)).get(issueKey);
+        if (resolved == null) {
+            throw new RuntimeException("❌ Jira issue not found: " + issueKey);
+        }
+        return resolved.equals(issueId) ? response : addTestToCycle(resolved, cycleId, projectId);
+    }
+
+    private static boolean isStale(Response response) {
+        return response.getStatusCode() == 400 || response.getStatusCode() == 404;
+    }
+
+    /** Maps issue keys to numeric issue IDs; only keys missing from the cache are searched in Jira. */
+    public Map<String, String> resolveIssueIds(Collection<String> issueKeys) {
+        return issueIds.getAll(issueKeys, this::searchIssueIds);
+    }
+
+    private Map<String, String> searchIssueIds(Set<String> issueKeys) {
+        Map<String, String> found = new HashMap<>();
+        List<String> keys = new ArrayList<>(issueKeys);
+        String endpoint = config.getProperty("jira.search.endpoint", "/rest/api/2/search");
+
+        for (int from = 0; from < keys.size(); from += ISSUE_SEARCH_BATCH) {
+            List<String> batch = keys.subList(from, Math.min(keys.size(), from + ISSUE_SEARCH_BATCH));
+            Map<String, String> query = new HashMap<>();
+            query.put("jql", "key in (" + String.join(",", batch) + ")");
+            // a strict search rejects the whole batch with 400 if any one of its keys no longer exists
+            query.put("validateQuery", "warn");
+            query.put("fields", "id");
+            query.put("maxResults", String.valueOf(batch.size()));
+
+            Response response = RestClient.get(config.getProperty("jira.baseUrl") + endpoint,
+                HeaderBuilder.buildHeaders("GET", true), query);
+            if (response.getStatusCode() != 200) {
+                System.out.println("❗Issue search failed with HTTP " + response.getStatusCode());
+                continue;
+            }
+            List<String> ids = ResponseHandler.getValues(response, "issues", "id");
+            List<String> foundKeys = ResponseHandler.getValues(response, "issues", "key");
+            for (int i = 0; i < ids.size(); i++) {
+                found.put(foundKeys.get(i), ids.get(i));
+            }
+        }
+        return found;
+    }
+
+    /** Returns the ID of the cycle with this name, or null if the project/version has no such cycle. */
+    public String findCycleId(String name, int projectId, int versionId) {
+        String key = cycleKey(projectId, versionId, name);
+        return cycleIds.getAll(Collections.singletonList(key), missing -> searchCycles(projectId, versionId)).get(key);
+    }
+
+    /** Reuses an existing cycle of the same name instead of creating a duplicate on every run. */
+    public String getOrCreateCycle(String name, int projectId, int versionId) {
+        String cycleId = findCycleId(name, projectId, versionId);
+        if (cycleId != null) {
+            return cycleId;
+        }
+        Response response = createCycle(name, projectId, versionId);
+        cycleId = ResponseHandler.getValueByKey(response, "id");
+        if (cycleId == null && isStale(response)) {
+            // another run may have created a cycle of this name since the search
+            cycleIds.invalidate(cycleKey(projectId, versionId, name));
+            cycleId = findCycleId(name, projectId, versionId);
+            if (cycleId != null) {
+                return cycleId;
+            }
+        }
+        if (cycleId == null) {
+            throw new RuntimeException("❌ Failed to create cycle " + name + ": HTTP " + response.getStatusCode());
+        }
+        cycleIds.put(cycleKey(projectId, versionId, name), cycleId);
+        cycleIds.save();
+        return cycleId;
+    }
+
+    /** Loads every cycle of the project/version in one call, so later lookups of other names are hits too. */
+    private Map<String, String> searchCycles(int projectId, int versionId) {
+        Map<String, String> query = new HashMap<>();
+        query.put("projectId", String.valueOf(projectId));
+        query.put("versionId", String.valueOf(versionId));
+        String endpoint = config.getProperty("zephyr.searchCycles.endpoint", "/public/rest/api/1.0/cycles/search");
+
+        Response response = RestClient.get(config.getProperty("jira.baseUrl") + endpoint,
+            HeaderBuilder.buildHeaders("GET", true), query);
+        Map<String, String> cycles = new HashMap<>();
+        if (response.getStatusCode() != 200) {
+            System.out.println("❗Cycle search failed with HTTP " + response.getStatusCode());
+            return cycles;
+        }
+        List<String> ids = ResponseHandler.getValues(response, "", "id");
+        List<String> names = ResponseHandler.getValues(response, "", "name");
+        for (int i = 0; i < ids.size(); i++) {
+            cycles.put(cycleKey(projectId, versionId, names.get(i)), ids.get(i));
+        }
+        return cycles;
+    }
+
+    private static String cycleKey(int projectId, int versionId, String name) {
+        return projectId + ":" + versionId + ":" + name;
+    }
+}
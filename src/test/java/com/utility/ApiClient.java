@@ -1,12 +1,12 @@
 package com.utility;
 
-import io.restassured.RestAssured;
 import io.restassured.http.Method;
 import io.restassured.response.Response;
-import io.restassured.specification.RequestSpecification;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import static io.restassured.RestAssured.given;
 
@@ -16,59 +16,39 @@ public class ApiClient {
     private static final String ACCESS_KEY = ConfigManager.get("zephyr.accessKey");
     private static final String SECRET_KEY = ConfigManager.get("zephyr.secretKey");
     private static final String CLIENT_ID = ConfigManager.get("zephyr.clientId");
-    private static final boolean MOCK_MODE = ConfigManager.getBoolean("mock.mode");
-    private static final int TIMEOUT = ConfigManager.getInt("timeout.ms");
-    private static final int MAX_RETRIES = ConfigManager.getInt("max.retries");
-
-    static {
-        RestAssured.config = RestAssured.config()
-                .httpClient(RestAssured.config().getHttpClientConfig()
-                        .setParam("http.connection.timeout", TIMEOUT)
-                        .setParam("http.socket.timeout", TIMEOUT)
-                        .setParam("http.connection-manager.timeout", (long) TIMEOUT));
-    }
+    private static final RetryPolicy RETRY_POLICY = RetryPolicy.fromConfig();
+    private static final ExecutorService EXECUTOR = TaskExecutors.fromConfig("api-client");
+    private static final ExchangeLogFilter LOG_FILTER = ExchangeLogFilter.fromConfig();
+    private static final HttpTransport TRANSPORT = HttpTransport.fromConfig(ApiClient::sendLive);
 
     public static Response sendRequest(String method, String endpoint, String body) {
-        if (MOCK_MODE) {
-            System.out.println("⚠️ MOCK MODE ENABLED - Skipping actual HTTP call to: " + endpoint);
-            return createMockResponse();
-        }
-
         String url = BASE_URL + endpoint;
-        Map<String, String> headers = buildAuthHeaders(url);
-
-        int attempt = 0;
-        Response response = null;
-
-        while (attempt < MAX_RETRIES) {
-            try {
-                RequestSpecification request = given()
-                        .headers(headers)
-                        .log().all()
-                        .body(body != null ? body : "");
-
-                response = request
-                        .request(Method.valueOf(method.toUpperCase()), url)
-                        .then()
-                        .log().all()
-                        .extract()
-                        .response();
+        Response response = TRANSPORT.send(method, url, buildAuthHeaders(url), body);
 
-                if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
-                    return response;
-                }
-
-                System.out.printf("❗Attempt %d failed: %d %s%n", attempt + 1,
-                        response.getStatusCode(), response.getStatusLine());
-
-            } catch (Exception e) {
-                System.out.printf("❗Attempt %d failed with exception: %s%n", attempt + 1, e.getMessage());
-            }
+        if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
+            return response;
+        }
+        throw new RuntimeException("❌ Request to " + endpoint + " failed: " + response.getStatusLine());
+    }
 
-            attempt++;
+    private static Response sendLive(String method, String url, Map<String, String> headers, String body) {
+        try {
+            return RETRY_POLICY.execute(method + " " + url, RetryPolicy.isIdempotent(method), () -> given(SharedRequestSpec.base())
+                    .headers(headers)
+                    .filters(LOG_FILTER.filters())
+                    .body(body != null ? body : "")
+                    .request(Method.valueOf(method.toUpperCase()), url)
+                    .then()
+                    .extract()
+                    .response());
+        } catch (RuntimeException e) {
+            throw new RuntimeException("❌ All attempts failed for endpoint: " + url, e);
         }
+    }
 
-        throw new RuntimeException("❌ All attempts failed for endpoint: " + endpoint);
+    /** Runs sendRequest on the configured executor; with execution.mode=virtual each call gets a virtual thread. */
+    public static CompletableFuture<Response> sendRequestAsync(String method, String endpoint, String body) {
+        return CompletableFuture.supplyAsync(() -> sendRequest(method, endpoint, body), EXECUTOR);
     }
 
     private static Map<String, String> buildAuthHeaders(String uri) {
@@ -79,14 +59,4 @@ public class ApiClient {
         headers.put("Content-Type", "application/json");
         return headers;
     }
-
-    private static Response createMockResponse() {
-        return given()
-                .body("{ \"id\": \"mock-id-123\", \"status\": \"success\" }")
-                .when()
-                .get("https://mock.api/response")
-                .then()
-                .extract()
-                .response();
-    }
 }
@@ -0,0 +1,43 @@
+package com.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 and lowercase hex for the JWT query string hash and the cassette keys. The digest is kept
+ * per thread and hex is written from a lookup table, since both run on every signed or recorded request.
+ */
+public class HashSupport {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    public static byte[] sha256(String text) {
+        return SHA_256.get().digest(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String sha256Hex(String text) {
+        return hex(sha256(text));
+    }
+
+    public static String hex(byte[] bytes) {
+        return hex(bytes, bytes.length);
+    }
+
+    /** The first {@code length} bytes as hex. */
+    public static String hex(byte[] bytes, int length) {
+        char[] hex = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,117 @@
+package com.utility;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The one place JSON is written and read. Jackson's mapper, per-type writers and compiled JSON
+ * pointers are built once and shared by every thread, instead of paying for reflection,
+ * serializer lookup or path parsing on each request. Single values are read by streaming up to
+ * the field, without building a tree of the rest of the document.
+ */
+public class JsonSupport {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+    private static final ConcurrentMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, JsonPointer> POINTERS = new ConcurrentHashMap<>();
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static JsonFactory factory() {
+        return FACTORY;
+    }
+
+    /** The writer for a payload type, created the first time the type is written. */
+    public static ObjectWriter writerFor(Class<?> type) {
+        return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
+    }
+
+    public static String write(Object payload) {
+        try {
+            return writerFor(payload.getClass()).writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    public static byte[] writeBytes(Object payload) {
+        try {
+            return writerFor(payload.getClass()).writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Compiles a path once. Accepts JSON pointers ("/issues/0/id") and the dotted form used with
+     * jsonPath ("issues[0].id" or "issues.0.id").
+     */
+    public static JsonPointer pointer(String path) {
+        return POINTERS.computeIfAbsent(path, p -> {
+            if (p.isEmpty() || p.startsWith("/")) {
+                return JsonPointer.compile(p);
+            }
+            StringBuilder pointer = new StringBuilder();
+            for (String segment : p.replace("[", ".").replace("]", "").split("\\.")) {
+                if (!segment.isEmpty()) {
+                    pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+                }
+            }
+            return JsonPointer.compile(pointer.toString());
+        });
+    }
+
+    /** The scalar at {@code path} as text, or null if it is missing, null or not a scalar. */
+    public static String readString(byte[] json, String path) {
+        try (JsonParser parser = new FilteringParserDelegate(FACTORY.createParser(json),
+            new JsonPointerBasedFilter(pointer(path)), TokenFilter.Inclusion.ONLY_INCLUDE_ALL, false)) {
+            JsonToken token = parser.nextToken();
+            return token != null && token.isScalarValue() && token != JsonToken.VALUE_NULL ? parser.getValueAsString() : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed JSON response", e);
+        }
+    }
+
+    public static String readString(String json, String path) {
+        return readString(json.getBytes(StandardCharsets.UTF_8), path);
+    }
+
+    public static JsonNode readTree(byte[] json) {
+        try {
+            return MAPPER.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed JSON response", e);
+        }
+    }
+
+    /** {@code field} of every element of the array at {@code arrayPath}, e.g. ("issues", "id"); missing values are null. */
+    public static List<String> readStrings(byte[] json, String arrayPath, String field) {
+        JsonNode array = readTree(json).at(pointer(arrayPath));
+        JsonPointer fieldPointer = pointer(field);
+        List<String> values = new ArrayList<>(array.size());
+        for (JsonNode element : array) {
+            JsonNode value = element.at(fieldPointer);
+            values.add(value.isValueNode() && !value.isNull() ? value.asText() : null);
+        }
+        return values;
+    }
+}
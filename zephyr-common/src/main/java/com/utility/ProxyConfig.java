@@ -0,0 +1,219 @@
+package com.utility;
+
+import org.apache.http.ConnectionReuseStrategy;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.auth.AUTH;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.MalformedChallengeException;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.AuthenticationStrategy;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.RedirectStrategy;
+import org.apache.http.client.UserTokenHandler;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.impl.auth.BasicScheme;
+import org.apache.http.impl.client.BasicAuthCache;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpProcessor;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The corporate proxy, shared by the RestAssured clients of the root module and the Zephyr client of
+ * the CLI. Proxied connections are pooled like direct ones, so the HTTPS tunnel (CONNECT, proxy auth,
+ * TLS) is set up once per connection and reused. Basic proxy credentials go out with the first
+ * request instead of after a 407, and proxy.noProxy hosts are reached directly (comma separated;
+ * "*.corp.com" or ".corp.com" match subdomains, "*" matches everything).
+ *
+ * <p>Settings are proxy.host, proxy.port, proxy.username, proxy.password and proxy.noProxy, read
+ * through whatever lookup the caller passes in. {@link #useSettings} makes a lookup's proxy the
+ * process-wide one used by {@link #newClient} and {@link #apply(HttpAsyncClientBuilder)}, which
+ * {@link #setupProxy} and {@link #clearProxy} replace; the root module's clients install ConfigManager.
+ * httpasyncclient is an optional dependency, needed only by the async methods.
+ */
+public class ProxyConfig {
+    private static Function<String, String> settings;
+    private static boolean overridden;
+    private static volatile ProxyConfig current;
+
+    private final HttpHost proxy;
+    private final UsernamePasswordCredentials credentials;
+    private final List<String> noProxy = new ArrayList<>();
+    private final BasicAuthCache authCache = new BasicAuthCache();
+    private final DefaultProxyRoutePlanner routePlanner;
+
+    public ProxyConfig(String host, int port, String username, String password, String noProxy) {
+        this(new HttpHost(host, port), username != null ? new UsernamePasswordCredentials(username, password) : null, noProxy);
+    }
+
+    private ProxyConfig(HttpHost proxy, UsernamePasswordCredentials credentials, String noProxy) {
+        this.proxy = proxy;
+        this.credentials = credentials;
+        for (String entry : (noProxy != null ? noProxy : "").split("[,|]")) {
+            if (!entry.trim().isEmpty()) {
+                this.noProxy.add(entry.trim().toLowerCase());
+            }
+        }
+        if (credentials != null) {
+            authCache.put(proxy, proxyScheme());
+        }
+        this.routePlanner = new DefaultProxyRoutePlanner(proxy) {
+            @Override
+            protected HttpHost determineProxy(HttpHost target, HttpRequest request, HttpContext context) {
+                return bypasses(target.getHostName()) ? null : proxy;
+            }
+        };
+    }
+
+    /** A Basic scheme primed for the proxy, so the cached scheme answers with Proxy-Authorization. */
+    private static BasicScheme proxyScheme() {
+        BasicScheme scheme = new BasicScheme();
+        try {
+            scheme.processChallenge(new BasicHeader(AUTH.PROXY_AUTH, "Basic realm=\"proxy\""));
+        } catch (MalformedChallengeException e) {
+            throw new IllegalStateException(e);
+        }
+        return scheme;
+    }
+
+    /** The proxy from proxy.host/port/username/password/noProxy, or null when proxy.host is not set. */
+    public static ProxyConfig fromConfig(Function<String, String> lookup) {
+        String host = lookup.apply("proxy.host");
+        if (host == null || host.trim().isEmpty()) {
+            return null;
+        }
+        String port = lookup.apply("proxy.port");
+        String password = lookup.apply("proxy.password");
+        return new ProxyConfig(host.trim(), port != null ? Integer.parseInt(port.trim()) : 8080, lookup.apply("proxy.username"),
+            password != null ? password : "", lookup.apply("proxy.noProxy"));
+    }
+
+    /**
+     * Makes {@code lookup} the source of proxy settings and its proxy the current one. A proxy set up in
+     * code before the settings were known stays, and only takes proxy.noProxy from them.
+     */
+    public static synchronized void useSettings(Function<String, String> lookup) {
+        boolean firstSettings = settings == null;
+        settings = lookup;
+        if (!overridden) {
+            current = fromConfig(lookup);
+        } else if (firstSettings && current != null) {
+            current = new ProxyConfig(current.proxy, current.credentials, lookup.apply("proxy.noProxy"));
+        }
+    }
+
+    /** Routes RestAssured requests sent from now on through this proxy; the async client keeps the proxy it started with. */
+    public static synchronized void setupProxy(String host, int port, String username, String password) {
+        current = new ProxyConfig(host, port, username, password, settings != null ? settings.apply("proxy.noProxy") : null);
+        overridden = true;
+    }
+
+    public static synchronized void clearProxy() {
+        current = null;
+        overridden = true;
+    }
+
+    public static ProxyConfig current() {
+        return current;
+    }
+
+    /**
+     * A client over {@code pool} for one RestAssured request, going through the current proxy if there
+     * is one. RestAssured replaces the route planner of every client it is given with its own
+     * ProxySelector-based one, so the proxy client hands ours to the request director instead.
+     */
+    // RestAssured only accepts the pre-4.3 AbstractHttpClient, so this bridge has to use the deprecated API
+    @SuppressWarnings("deprecation")
+    public static org.apache.http.impl.client.DefaultHttpClient newClient(org.apache.http.conn.ClientConnectionManager pool) {
+        ProxyConfig config = current;
+        if (config == null) {
+            return new org.apache.http.impl.client.DefaultHttpClient(pool);
+        }
+        org.apache.http.impl.client.DefaultHttpClient client = new org.apache.http.impl.client.DefaultHttpClient(pool) {
+            @Override
+            protected org.apache.http.client.RequestDirector createClientRequestDirector(
+                    HttpRequestExecutor requestExec, org.apache.http.conn.ClientConnectionManager conman,
+                    ConnectionReuseStrategy reustrat, ConnectionKeepAliveStrategy kastrat, HttpRoutePlanner rouplan,
+                    HttpProcessor httpProcessor, HttpRequestRetryHandler retryHandler, RedirectStrategy redirectStrategy,
+                    AuthenticationStrategy targetAuthStrategy, AuthenticationStrategy proxyAuthStrategy,
+                    UserTokenHandler userTokenHandler, org.apache.http.params.HttpParams params) {
+                return super.createClientRequestDirector(requestExec, conman, reustrat, kastrat, config.routePlanner, httpProcessor,
+                    retryHandler, redirectStrategy, targetAuthStrategy, proxyAuthStrategy, userTokenHandler, params);
+            }
+        };
+        if (config.credentials != null) {
+            client.getCredentialsProvider().setCredentials(new AuthScope(config.proxy), config.credentials);
+            client.addRequestInterceptor(config.preemptiveAuth(), 0);
+        }
+        return client;
+    }
+
+    /** The current proxy applied to a NIO client builder; a no-op without one. */
+    public static HttpAsyncClientBuilder apply(HttpAsyncClientBuilder builder) {
+        ProxyConfig config = current;
+        return config != null ? config.applyToAsync(builder) : builder;
+    }
+
+    public boolean bypasses(String host) {
+        String name = host.toLowerCase();
+        for (String entry : noProxy) {
+            if (entry.equals("*") || entry.equals(name)) {
+                return true;
+            }
+            String suffix = entry.startsWith("*.") ? entry.substring(1) : entry.startsWith(".") ? entry : null;
+            if (suffix != null && (name.endsWith(suffix) || name.equals(suffix.substring(1)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public HttpClientBuilder applyTo(HttpClientBuilder builder) {
+        builder.setRoutePlanner(routePlanner);
+        if (credentials != null) {
+            builder.setDefaultCredentialsProvider(credentialsProvider()).addInterceptorFirst(preemptiveAuth());
+        }
+        return builder;
+    }
+
+    /** Not an applyTo overload: resolving one would need httpasyncclient on every caller's classpath. */
+    public HttpAsyncClientBuilder applyToAsync(HttpAsyncClientBuilder builder) {
+        builder.setRoutePlanner(routePlanner);
+        if (credentials != null) {
+            builder.setDefaultCredentialsProvider(credentialsProvider()).addInterceptorFirst(preemptiveAuth());
+        }
+        return builder;
+    }
+
+    private BasicCredentialsProvider credentialsProvider() {
+        BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+        credentialsProvider.setCredentials(new AuthScope(proxy), credentials);
+        return credentialsProvider;
+    }
+
+    private HttpRequestInterceptor preemptiveAuth() {
+        return (request, context) -> {
+            HttpClientContext clientContext = HttpClientContext.adapt(context);
+            if (clientContext.getAuthCache() == null) {
+                clientContext.setAuthCache(authCache);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return proxy.toHostString() + (credentials != null ? " as " + credentials.getUserName() : "");
+    }
+}
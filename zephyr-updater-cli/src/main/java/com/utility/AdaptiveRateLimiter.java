@@ -0,0 +1,93 @@
+package com.utility;
+
+/**
+ * AIMD concurrency limiter: the number of permits grows by one after a full window of
+ * healthy responses and is halved when the server throttles. A throttle also pauses
+ * every caller until the server's Retry-After (or the default backoff) has elapsed.
+ */
+public class AdaptiveRateLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long defaultBackoffMs;
+
+    private int limit;
+    private int inFlight;
+    private int successStreak;
+    private long epoch;
+    private long pausedUntil;
+    private long pausedNanos;
+    private int pausedCallers;
+    private long pauseStartNanos;
+
+    public AdaptiveRateLimiter(int initialLimit, int maxLimit, long defaultBackoffMs) {
+        this.minLimit = 1;
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = Math.max(minLimit, Math.min(initialLimit, this.maxLimit));
+        this.defaultBackoffMs = defaultBackoffMs;
+    }
+
+    /** Blocks until a permit is free and returns the limiter epoch the permit was granted in. */
+    public synchronized long acquire() throws InterruptedException {
+        while (true) {
+            long pause = pausedUntil - System.currentTimeMillis();
+            if (pause > 0) {
+                if (pausedCallers++ == 0) {
+                    pauseStartNanos = System.nanoTime();
+                }
+                try {
+                    wait(pause);
+                } finally {
+                    if (--pausedCallers == 0) {
+                        pausedNanos += System.nanoTime() - pauseStartNanos;
+                    }
+                }
+            } else if (inFlight < limit) {
+                inFlight++;
+                return epoch;
+            } else {
+                wait();
+            }
+        }
+    }
+
+    public synchronized void onSuccess() {
+        release();
+        if (++successStreak >= limit && limit < maxLimit) {
+            limit++;
+            successStreak = 0;
+        }
+    }
+
+    /**
+     * Only the first throttle of an epoch halves the limit, so a burst of 429s from requests
+     * that were already in flight does not collapse the window to one.
+     */
+    public synchronized void onThrottle(long permitEpoch, long retryAfterMs) {
+        release();
+        successStreak = 0;
+        if (permitEpoch == epoch) {
+            limit = Math.max(minLimit, limit / 2);
+            epoch++;
+        }
+        long backoff = retryAfterMs > 0 ? retryAfterMs : defaultBackoffMs;
+        pausedUntil = Math.max(pausedUntil, System.currentTimeMillis() + backoff);
+    }
+
+    public synchronized void onFailure() {
+        release();
+    }
+
+    /** Wall-clock time during which at least one caller was blocked by a throttle pause. */
+    public synchronized long pausedNanos() {
+        return pausedNanos;
+    }
+
+    public synchronized int currentLimit() {
+        return limit;
+    }
+
+    private void release() {
+        inFlight--;
+        notifyAll();
+    }
+}
@@ -0,0 +1,240 @@
+package com.utility;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class AllureParser {
+    private static final Object END = new Object();
+
+    public static List<TestCaseResult> parseResults(String directory) throws IOException {
+
+        List<TestCaseResult> results = new ArrayList<>();
+        Files.list(Paths.get(directory)).filter(p -> p.toString().endsWith(".json")).forEach(file -> {
+            try {
+                JsonNode root = JsonSupport.mapper().readTree(file.toFile());
+                String status = root.path("status").asText();
+                JsonNode labels = root.path("labels");
+                String testCaseId = null;
+
+                for (JsonNode label : labels) {
+                    if ("testCaseId".equals(label.path("name").asText())) {
+                        testCaseId = label.path("value").asText();
+                        break;
+                    }
+                }
+
+                if (testCaseId != null) {
+                    String historyId = root.hasNonNull("historyId") ? root.get("historyId").asText() : null;
+                    results.add(new TestCaseResult(testCaseId, status, historyId, root.path("stop").asLong()));
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+
+        return results;
+    }
+
+    public static Stream<TestCaseResult> streamResults(String directory) throws IOException {
+        return streamResults(directory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Streams results using Jackson's token parser on a bounded pool of worker threads.
+     * Only "status", "historyId", "stop" and the testCaseId label are read; every other subtree is skipped.
+     * Results arrive in completion order, and the stream must be closed to release the workers.
+     */
+    public static Stream<TestCaseResult> streamResults(String directory, int threads) throws IOException {
+        Path dir = Paths.get(directory);
+        if (!Files.isDirectory(dir)) {
+            throw new NoSuchFileException(directory);
+        }
+
+        int workers = Math.max(1, threads);
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(workers * 256);
+        Semaphore inFlight = new Semaphore(workers * 4);
+        AtomicBoolean closed = new AtomicBoolean();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, daemonThreads("allure-parser"));
+
+        Thread walker = new Thread(() -> walk(dir, pool, inFlight, queue, closed), "allure-parser-walk");
+        walker.setDaemon(true);
+        walker.start();
+
+        Iterator<TestCaseResult> iterator = new Iterator<TestCaseResult>() {
+            private Object next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = queue.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for parsed results", e);
+                    }
+                }
+                if (next instanceof IOException) {
+                    throw new UncheckedIOException((IOException) next);
+                }
+                return next != END;
+            }
+
+            @Override
+            public TestCaseResult next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                TestCaseResult result = (TestCaseResult) next;
+                next = null;
+                return result;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+            .onClose(() -> {
+                closed.set(true);
+                walker.interrupt();
+                pool.shutdownNow();
+            });
+    }
+
+    private static void walk(Path dir, ExecutorService pool, Semaphore inFlight,
+                             BlockingQueue<Object> queue, AtomicBoolean closed) {
+        AtomicInteger pending = new AtomicInteger(1);
+        Runnable finishOne = () -> {
+            if (pending.decrementAndGet() == 0) {
+                offer(queue, END, closed);
+            }
+        };
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path file : files) {
+                if (closed.get()) {
+                    return;
+                }
+                inFlight.acquire();
+                pending.incrementAndGet();
+                pool.execute(() -> {
+                    try {
+                        TestCaseResult result = parseFile(file);
+                        if (result != null) {
+                            offer(queue, result, closed);
+                        }
+                    } catch (IOException e) {
+                        System.err.println("❗Skipping unreadable result file " + file + ": " + e.getMessage());
+                    } finally {
+                        inFlight.release();
+                        finishOne.run();
+                    }
+                });
+            }
+        } catch (IOException e) {
+            offer(queue, e, closed);
+            return;
+        } catch (InterruptedException | RejectedExecutionException e) {
+            return;
+        }
+        finishOne.run();
+    }
+
+    private static void offer(BlockingQueue<Object> queue, Object item, AtomicBoolean closed) {
+        try {
+            while (!closed.get() && !queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                // consumer is behind; keep waiting unless the stream was closed
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static TestCaseResult parseFile(Path file) throws IOException {
+        try (JsonParser parser = JsonSupport.factory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            String status = null;
+            String testCaseId = null;
+            String historyId = null;
+            long stop = 0;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+
+                if ("status".equals(field)) {
+                    status = parser.getValueAsString();
+                } else if ("historyId".equals(field)) {
+                    historyId = parser.getValueAsString();
+                } else if ("stop".equals(field)) {
+                    stop = parser.getValueAsLong();
+                } else if ("labels".equals(field) && value == JsonToken.START_ARRAY) {
+                    testCaseId = readTestCaseId(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return testCaseId != null ? new TestCaseResult(testCaseId, status, historyId, stop) : null;
+        }
+    }
+
+    private static String readTestCaseId(JsonParser parser) throws IOException {
+        String testCaseId = null;
+        JsonToken token;
+
+        while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            String name = null;
+            String value = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+
+                if ("name".equals(field)) {
+                    name = parser.getValueAsString();
+                } else if ("value".equals(field)) {
+                    value = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (testCaseId == null && "testCaseId".equals(name)) {
+                testCaseId = value;
+            }
+        }
+
+        return testCaseId;
+    }
+
+    static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
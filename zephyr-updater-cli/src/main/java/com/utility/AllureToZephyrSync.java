@@ -1,41 +1,116 @@
 package com.utility;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import java.io.IOException;
-import java.text.SimpleDateFormat;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 public class AllureToZephyrSync {
+    private static final String LOAD_DRIVER = "com.utility.LoadDriver";
+
     public static void main(String[] args) throws IOException {
-        ZephyrClient client = new ZephyrClient(
+        if (args.length > 0 && args[0].equals("--load")) {
+            runLoad(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        try (ZephyrClient client = new ZephyrClient(
             ConfigReader.get("baseUrl"),
             ConfigReader.get("accessKey"),
             ConfigReader.get("secretKey"),
-            ConfigReader.get("accountId")
-        );
+            ConfigReader.get("accountId"),
+            HttpPoolSettings.fromConfig()
+        )) {
+            SyncOptions options = SyncOptions.fromConfig();
+            if (Arrays.asList(args).contains("--watch")) {
+                options.watch = true;
+            }
+            run(client, ProjectRouter.fromConfig(), options);
+        }
 
-        int projectId = ProjectConfig.getProjectId();
-        String today = new SimpleDateFormat("yyyy-MM-dd").format(new Date());
-        String cycleResponse = client.createCycle("Automation Cycle - " + today, projectId, -1);
-        String cycleId = new ObjectMapper().readTree(cycleResponse).path("id").asText();
+        System.out.println("✅ Zephyr sync completed.");
+    }
+
+    /**
+     * {@code --load [results]}: runs the sync against the in-process fake Zephyr server. The fake server
+     * is a test fixture and is not in the CLI jar, so this needs the benchmarks jar on the classpath:
+     * {@code java -cp benchmarks/target/benchmarks.jar com.utility.AllureToZephyrSync --load 20000}.
+     */
+    private static void runLoad(String[] args) throws IOException {
+        try {
+            Class.forName(LOAD_DRIVER).getMethod("main", String[].class).invoke(null, (Object) args);
+        } catch (ClassNotFoundException e) {
+            System.out.println("❌ --load needs the test fixtures; run it from benchmarks/target/benchmarks.jar");
+        } catch (ReflectiveOperationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof IOException ? (IOException) cause : new IOException("Load run failed", cause);
+        }
+    }
 
-        List<TestCaseResult> testResults = AllureParser.parseResults("allure-results/");
-        List<String> issueKeys = testResults.stream().map(r -> r.id).collect(Collectors.toList());
+    public static void run(ZephyrClient client, int projectId, SyncOptions options) throws IOException {
+        run(client, ProjectRouter.single(projectId), options);
+    }
 
-        Map<String, String> executions = client.createExecutions(issueKeys, cycleId, projectId);
+    /** Syncs every result into the project its issue key routes to, one cycle and worker pool per project. */
+    public static void run(ZephyrClient client, ProjectRouter router, SyncOptions options) throws IOException {
+        SyncMetrics metrics = client.getMetrics();
+        try {
+            sync(client, router, options);
+        } finally {
+            metrics.export(options);
+        }
+    }
 
-        for (TestCaseResult result : testResults) {
-            int zephyrStatus = mapStatus(result.status);
-            String executionId = executions.get(result.id);
-            client.updateExecution(executionId, zephyrStatus);
+    private static void sync(ZephyrClient client, ProjectRouter router, SyncOptions options) throws IOException {
+        SyncSession session = new SyncSession(client, router, options);
+        if (options.watch) {
+            watch(session, options);
+            return;
         }
+        try (Stream<TestCaseResult> parsed = AllureParser.streamResults(options.resultsDir, options.parserThreads)) {
+            session.process(parsed::iterator);
+            session.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while syncing results", e);
+        }
+    }
 
-        System.out.println("✅ Zephyr sync completed.");
+    /** Streams results into the projects as the running suite writes them; Ctrl-C drains what was picked up. */
+    private static void watch(SyncSession session, SyncOptions options) throws IOException {
+        ResultsWatcher watcher = new ResultsWatcher(Paths.get(options.resultsDir), session, options);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread drainOnExit = new Thread(() -> {
+            watcher.stop();
+            try {
+                done.await(options.watchSettleMs + 60000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "zephyr-watch-shutdown");
+        Runtime.getRuntime().addShutdownHook(drainOnExit);
+
+        try {
+            watcher.run();
+            session.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while watching results", e);
+        } finally {
+            done.countDown();
+            try {
+                Runtime.getRuntime().removeShutdownHook(drainOnExit);
+            } catch (IllegalStateException e) {
+                // already shutting down; the hook is waiting on the latch released above
+            }
+        }
     }
 
-    private static int mapStatus(String allureStatus) {
+    static int mapStatus(String allureStatus) {
+        if (allureStatus == null) {
+            return -1;
+        }
         switch (allureStatus.toLowerCase()) {
             case "passed": return 1;
             case "failed": return 2;
@@ -0,0 +1,170 @@
+package com.utility;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Groups status updates by target status into bulk requests. An execution is in at most one pending
+ * batch, under its newest status, and is held back from a new batch while an earlier one carrying it
+ * is still being sent, so its statuses reach Zephyr in order. Once a batch has fallen back to single
+ * updates, later statuses of its executions go to the same per-execution lanes of the dispatcher.
+ */
+public class BulkStatusUpdater {
+    private static final String BULK_ENDPOINT = "/executions";
+
+    private final ZephyrClient client;
+    private final ExecutionUpdateDispatcher fallback;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long defaultBackoffMs;
+
+    // all guarded by pending
+    private final Map<Integer, Set<String>> pending = new TreeMap<>();
+    private final Map<String, Integer> pendingStatus = new HashMap<>();
+    private final Map<String, Long> sequences = new HashMap<>();
+    private final Set<String> inFlight = new HashSet<>();
+    private final Set<String> single = new HashSet<>();
+
+    private final AtomicInteger bulkRequests = new AtomicInteger();
+    private final AtomicInteger fallbackBatches = new AtomicInteger();
+
+    public BulkStatusUpdater(ZephyrClient client, ExecutionUpdateDispatcher fallback, int batchSize,
+                             int maxAttempts, long defaultBackoffMs) {
+        this.client = client;
+        this.fallback = fallback;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.defaultBackoffMs = defaultBackoffMs;
+    }
+
+    public void add(String executionId, int status) throws InterruptedException {
+        add(executionId, status, ExecutionUpdateDispatcher.NEXT);
+    }
+
+    /**
+     * Queues an execution under its target status; a full batch is sent straight away on the
+     * calling thread. A status older than one already added for the execution is dropped. Safe to
+     * call from several threads.
+     */
+    public void add(String executionId, int status, long sequence) throws InterruptedException {
+        if (executionId == null) {
+            fallback.submit(null, status);
+            return;
+        }
+        List<String> full = null;
+        boolean toSingle;
+        synchronized (pending) {
+            Long newest = sequences.get(executionId);
+            if (sequence != ExecutionUpdateDispatcher.NEXT && newest != null && sequence < newest) {
+                return;
+            }
+            sequences.put(executionId, newest != null ? Math.max(newest, sequence) : sequence);
+            toSingle = single.contains(executionId);
+            if (!toSingle) {
+                Integer previous = pendingStatus.put(executionId, status);
+                if (previous != null) {
+                    pending.get(previous).remove(executionId);
+                }
+                Set<String> batch = pending.computeIfAbsent(status, s -> new LinkedHashSet<>());
+                batch.add(executionId);
+                if (batch.size() >= batchSize) {
+                    full = take(batch, batchSize);
+                }
+            }
+        }
+        if (toSingle) {
+            fallback.submit(executionId, status, null, sequence);
+        } else if (full != null && !full.isEmpty()) {
+            send(full, status);
+        }
+    }
+
+    /** Sends every partially filled batch. */
+    public void flush() throws InterruptedException {
+        Map<Integer, List<String>> remaining = new TreeMap<>();
+        synchronized (pending) {
+            for (Map.Entry<Integer, Set<String>> entry : pending.entrySet()) {
+                remaining.put(entry.getKey(), take(entry.getValue(), Integer.MAX_VALUE));
+            }
+        }
+        for (Map.Entry<Integer, List<String>> entry : remaining.entrySet()) {
+            List<String> executionIds = entry.getValue();
+            for (int from = 0; from < executionIds.size(); from += batchSize) {
+                send(executionIds.subList(from, Math.min(executionIds.size(), from + batchSize)), entry.getKey());
+            }
+        }
+        System.out.printf("✅ Sent %d bulk status updates (%d batches fell back to single updates)%n", bulkRequests.get(), fallbackBatches.get());
+    }
+
+    /** Moves up to {@code max} executions that are not being sent from the batch into a new list. */
+    private List<String> take(Set<String> batch, int max) {
+        List<String> taken = new ArrayList<>(Math.min(batch.size(), max));
+        for (Iterator<String> it = batch.iterator(); it.hasNext() && taken.size() < max; ) {
+            String executionId = it.next();
+            if (inFlight.add(executionId)) {
+                it.remove();
+                pendingStatus.remove(executionId);
+                taken.add(executionId);
+            }
+        }
+        return taken;
+    }
+
+    private void send(List<String> executionIds, int status) throws InterruptedException {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                bulkRequests.incrementAndGet();
+                client.bulkUpdateExecutions(executionIds, status);
+                for (String executionId : executionIds) {
+                    fallback.notifyUpdated(executionId, status);
+                }
+                synchronized (pending) {
+                    inFlight.removeAll(executionIds);
+                }
+                return;
+            } catch (ZephyrApiException e) {
+                if (!e.isThrottled() || attempt == maxAttempts) {
+                    System.out.printf("❗Bulk update of %d executions to status %d failed: %s%n", executionIds.size(), status, e.getMessage());
+                    break;
+                }
+                long pause = e.getRetryAfterMs() > 0 ? e.getRetryAfterMs() : defaultBackoffMs * attempt;
+                client.getMetrics().recordRetry(BULK_ENDPOINT);
+                client.getMetrics().recordThrottled(BULK_ENDPOINT, TimeUnit.MILLISECONDS.toNanos(pause));
+                Thread.sleep(pause);
+            } catch (IOException e) {
+                System.out.printf("❗Bulk update of %d executions to status %d failed with exception: %s%n", executionIds.size(), status, e.getMessage());
+                break;
+            }
+        }
+
+        fallbackBatches.incrementAndGet();
+        List<Integer> statuses = new ArrayList<>(executionIds.size());
+        List<Long> sequenceNumbers = new ArrayList<>(executionIds.size());
+        synchronized (pending) {
+            for (String executionId : executionIds) {
+                inFlight.remove(executionId);
+                single.add(executionId);
+                // a newer status that arrived while the batch was out replaces the failed one
+                Integer newer = pendingStatus.remove(executionId);
+                if (newer != null) {
+                    pending.get(newer).remove(executionId);
+                }
+                statuses.add(newer != null ? newer : status);
+                sequenceNumbers.add(sequences.get(executionId));
+            }
+        }
+        for (int i = 0; i < executionIds.size(); i++) {
+            fallback.submit(executionIds.get(i), statuses.get(i), null, sequenceNumbers.get(i));
+        }
+    }
+}
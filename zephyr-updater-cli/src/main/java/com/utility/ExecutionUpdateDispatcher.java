@@ -0,0 +1,242 @@
+package com.utility;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends single status updates with adaptive concurrency. Updates of one execution go through a lane
+ * that sends them one at a time and in order; while one is in flight only the newest of the statuses
+ * submitted after it is kept, so the last status submitted is the one the execution ends up with.
+ */
+public class ExecutionUpdateDispatcher {
+    static final String UPDATE_ENDPOINT = "/execution/{id}/execute";
+    /** The sequence of updates that are always newer than the ones before them. */
+    static final long NEXT = -1;
+
+    private final ZephyrClient client;
+    private final AdaptiveRateLimiter limiter;
+    private final ExecutorService workers;
+    private final int maxAttempts;
+    private final long defaultBackoffMs;
+    private final Semaphore pending;
+    private volatile UpdateListener listener;
+
+    /** One lane per execution updated in this run, kept so a late, older update can still be recognised. */
+    private final Map<String, Lane> lanes = new HashMap<>();
+
+    private final AtomicInteger updated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger retries = new AtomicInteger();
+    private final AtomicInteger superseded = new AtomicInteger();
+
+    private static class Lane {
+        long sequence = Long.MIN_VALUE;
+        Update next;
+        boolean scheduled;
+    }
+
+    private static class Update {
+        final int status;
+        final String comment;
+
+        Update(int status, String comment) {
+            this.status = status;
+            this.comment = comment;
+        }
+    }
+
+    public ExecutionUpdateDispatcher(ZephyrClient client, int initialConcurrency, int maxConcurrency,
+                                     int maxAttempts, long defaultBackoffMs) {
+        this(client, initialConcurrency, maxConcurrency, maxAttempts, defaultBackoffMs, Integer.MAX_VALUE);
+    }
+
+    /** {@code maxPending} bounds the executions with queued or in-flight updates; submit blocks once it is reached. */
+    public ExecutionUpdateDispatcher(ZephyrClient client, int initialConcurrency, int maxConcurrency,
+                                     int maxAttempts, long defaultBackoffMs, int maxPending) {
+        this.client = client;
+        this.limiter = new AdaptiveRateLimiter(initialConcurrency, maxConcurrency, defaultBackoffMs);
+        this.workers = Executors.newFixedThreadPool(Math.max(1, maxConcurrency), AllureParser.daemonThreads("zephyr-update"));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.defaultBackoffMs = defaultBackoffMs;
+        this.pending = new Semaphore(Math.max(1, maxPending));
+    }
+
+    public interface UpdateListener {
+        void updated(String executionId, int status);
+    }
+
+    /** Called from worker threads after every successful update, including bulk ones. */
+    public void setUpdateListener(UpdateListener listener) {
+        this.listener = listener;
+    }
+
+    void notifyUpdated(String executionId, int status) {
+        UpdateListener current = listener;
+        if (current != null) {
+            current.updated(executionId, status);
+        }
+    }
+
+    public void submit(String executionId, int status) {
+        submit(executionId, status, null, NEXT);
+    }
+
+    public void submit(String executionId, int status, String comment) {
+        submit(executionId, status, comment, NEXT);
+    }
+
+    /**
+     * Queues a status update; a non-null comment is set on the execution in the same request. An update
+     * whose {@code sequence} is lower than that of one already submitted for the execution is dropped,
+     * as is a queued update replaced by a newer one before it was sent.
+     */
+    public void submit(String executionId, int status, String comment, long sequence) {
+        if (executionId == null) {
+            System.out.println("❗No execution found for result, skipping update");
+            failed.incrementAndGet();
+            return;
+        }
+        Lane lane;
+        synchronized (lanes) {
+            lane = lanes.computeIfAbsent(executionId, id -> new Lane());
+            if (sequence != NEXT && sequence < lane.sequence) {
+                superseded.incrementAndGet();
+                return;
+            }
+            lane.sequence = Math.max(lane.sequence, sequence);
+            if (lane.next != null) {
+                superseded.incrementAndGet();
+            }
+            lane.next = new Update(status, comment);
+            if (lane.scheduled) {
+                return;
+            }
+            lane.scheduled = true;
+        }
+        pending.acquireUninterruptibly();
+        workers.execute(() -> {
+            SyncMetrics.PhaseScope timer = client.getMetrics().timePhase("update");
+            try {
+                drain(executionId, lane);
+            } finally {
+                timer.close();
+                pending.release();
+            }
+        });
+    }
+
+    /** Sends the lane's updates until none is left; a status submitted meanwhile is sent after the current one. */
+    private void drain(String executionId, Lane lane) {
+        while (true) {
+            Update next;
+            synchronized (lanes) {
+                next = lane.next;
+                lane.next = null;
+                if (next == null) {
+                    lane.scheduled = false;
+                    return;
+                }
+            }
+            update(executionId, next.status, next.comment);
+        }
+    }
+
+    private void update(String executionId, int status, String comment) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            long permitEpoch;
+            try {
+                permitEpoch = limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.incrementAndGet();
+                return;
+            }
+
+            try {
+                client.updateExecution(executionId, status, comment);
+                limiter.onSuccess();
+                updated.incrementAndGet();
+                notifyUpdated(executionId, status);
+                return;
+            } catch (ZephyrApiException e) {
+                if (e.isThrottled()) {
+                    limiter.onThrottle(permitEpoch, e.getRetryAfterMs());
+                } else {
+                    limiter.onFailure();
+                    System.out.printf("❗Update of execution %s failed: %s%n", executionId, e.getMessage());
+                    failed.incrementAndGet();
+                    return;
+                }
+            } catch (IOException e) {
+                limiter.onFailure();
+                System.out.printf("❗Attempt %d for execution %s failed with exception: %s%n", attempt, executionId, e.getMessage());
+                if (!sleep(defaultBackoffMs * attempt)) {
+                    failed.incrementAndGet();
+                    return;
+                }
+            }
+
+            if (attempt < maxAttempts) {
+                retries.incrementAndGet();
+                client.getMetrics().recordRetry(UPDATE_ENDPOINT);
+            }
+        }
+
+        System.out.printf("❌ All %d attempts failed for execution %s%n", maxAttempts, executionId);
+        failed.incrementAndGet();
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** Waits for every submitted update to finish and stops the worker threads. */
+    public void awaitCompletion() throws InterruptedException {
+        workers.shutdown();
+        while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            System.out.printf("⏳ Still updating executions: %d done, concurrency limit %d%n",
+                updated.get() + failed.get(), limiter.currentLimit());
+        }
+        SyncMetrics.PhaseScope timer = client.getMetrics().timePhase("update");
+        try {
+            client.getMetrics().recordThrottled(UPDATE_ENDPOINT, limiter.pausedNanos());
+        } finally {
+            timer.close();
+        }
+        System.out.printf("✅ Updated %d executions (%d failed, %d retries, %d superseded)%n",
+            updated.get(), failed.get(), retries.get(), superseded.get());
+    }
+
+    public int getUpdated() {
+        return updated.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public int getRetries() {
+        return retries.get();
+    }
+
+    /** Updates dropped because a newer status for the same execution was submitted. */
+    public int getSuperseded() {
+        return superseded.get();
+    }
+
+    AdaptiveRateLimiter getLimiter() {
+        return limiter;
+    }
+}
@@ -0,0 +1,222 @@
+package com.utility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Append-only result history of every synced run, kept in three files so thousands of runs stay
+ * small and quick to scan:
+ * <ul>
+ *   <li>tests.dat: every test case ID once, as a length-prefixed UTF-8 string; its position is the test index</li>
+ *   <li>runs.dat: one block per run, a timestamp and count followed by a column of int test indexes
+ *       and a column of byte Zephyr statuses</li>
+ *   <li>runs.idx: the offset of each run's block, 8 bytes per run, so the last N runs are found without scanning</li>
+ * </ul>
+ * A run is only visible once its offset is in runs.idx, which is written last; a crash mid-append
+ * leaves bytes past the last indexed block that the next append overwrites. Reads go through
+ * memory-mapped channels.
+ */
+public class HistoryStore {
+    private static final int RUN_HEADER_BYTES = 12;
+
+    private final Path testsFile;
+    private final Path runsFile;
+    private final Path indexFile;
+    private final Path lockFile;
+
+    private final List<String> testIds = new ArrayList<>();
+    private final Map<String, Integer> testIndexes = new HashMap<>();
+    private long testsBytes;
+    private int runCount;
+    private long runsEnd;
+
+    public HistoryStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.testsFile = directory.resolve("tests.dat");
+        this.runsFile = directory.resolve("runs.dat");
+        this.indexFile = directory.resolve("runs.idx");
+        this.lockFile = directory.resolve("history.lock");
+        refresh();
+    }
+
+    public static HistoryStore open(String directory) throws IOException {
+        return new HistoryStore(Paths.get(directory));
+    }
+
+    public synchronized int getRunCount() {
+        return runCount;
+    }
+
+    /** Picks up test IDs and runs appended since the last refresh, possibly by another process. */
+    private void refresh() throws IOException {
+        if (Files.exists(testsFile)) {
+            try (FileChannel channel = FileChannel.open(testsFile, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                buffer.position((int) testsBytes);
+                while (buffer.remaining() >= 2) {
+                    int length = buffer.getShort() & 0xFFFF;
+                    if (buffer.remaining() < length) {
+                        break;
+                    }
+                    byte[] id = new byte[length];
+                    buffer.get(id);
+                    intern(new String(id, StandardCharsets.UTF_8));
+                    testsBytes = buffer.position();
+                }
+            }
+        }
+
+        runCount = Files.exists(indexFile) ? (int) (Files.size(indexFile) / 8) : 0;
+        runsEnd = 0;
+        if (runCount > 0) {
+            try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ);
+                 FileChannel runs = FileChannel.open(runsFile, StandardOpenOption.READ)) {
+                long lastOffset = index.map(FileChannel.MapMode.READ_ONLY, (runCount - 1) * 8L, 8).getLong(0);
+                int lastCount = runs.map(FileChannel.MapMode.READ_ONLY, lastOffset, RUN_HEADER_BYTES).getInt(8);
+                runsEnd = lastOffset + RUN_HEADER_BYTES + lastCount * 5L;
+            }
+        }
+    }
+
+    private int intern(String testId) {
+        Integer index = testIndexes.get(testId);
+        if (index == null) {
+            index = testIds.size();
+            testIds.add(testId);
+            testIndexes.put(testId, index);
+        }
+        return index;
+    }
+
+    /** Appends one run; results without a Zephyr status are left out. */
+    public synchronized void append(long timestamp, Collection<TestCaseResult> results) throws IOException {
+        // A separate lock file: closing any other channel on a locked file may release the lock.
+        try (FileChannel lock = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            lock.lock(); // released when the channel is closed
+            refresh();
+
+            ByteArrayOutputStream newIds = new ByteArrayOutputStream();
+            DataOutputStream newIdsOut = new DataOutputStream(newIds);
+            int[] tests = new int[results.size()];
+            byte[] statuses = new byte[results.size()];
+            int count = 0;
+            for (TestCaseResult result : results) {
+                int status = AllureToZephyrSync.mapStatus(result.status);
+                byte[] id = result.id.getBytes(StandardCharsets.UTF_8);
+                if (status < 0 || id.length > 0xFFFF) {
+                    continue;
+                }
+                int known = testIds.size();
+                tests[count] = intern(result.id);
+                if (tests[count] == known) {
+                    newIdsOut.writeShort(id.length);
+                    newIdsOut.write(id);
+                }
+                statuses[count++] = (byte) status;
+            }
+
+            if (newIds.size() > 0) {
+                try (FileChannel channel = FileChannel.open(testsFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    writeFully(channel, ByteBuffer.wrap(newIds.toByteArray()), testsBytes);
+                    channel.truncate(testsBytes + newIds.size());
+                    channel.force(false);
+                }
+                testsBytes += newIds.size();
+            }
+
+            ByteBuffer block = ByteBuffer.allocate(RUN_HEADER_BYTES + count * 5);
+            block.putLong(timestamp).putInt(count);
+            for (int i = 0; i < count; i++) {
+                block.putInt(tests[i]);
+            }
+            block.put(statuses, 0, count);
+            block.flip();
+            try (FileChannel runs = FileChannel.open(runsFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                writeFully(runs, block, runsEnd);
+                runs.force(false);
+            }
+
+            try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                writeFully(index, ByteBuffer.allocate(8).putLong(0, runsEnd), runCount * 8L);
+                index.force(false);
+            }
+            runsEnd += RUN_HEADER_BYTES + count * 5L;
+            runCount++;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Share of status changes per test case over the last {@code lastRuns} runs, i.e. flips divided by
+     * the test's consecutive result pairs in that window. Tests seen in fewer than {@code minRuns} of
+     * those runs are left out.
+     */
+    public synchronized Map<String, Double> flipRates(int lastRuns, int minRuns) throws IOException {
+        refresh();
+        Map<String, Double> rates = new HashMap<>();
+        int first = Math.max(0, runCount - lastRuns);
+        if (runCount == first) {
+            return rates;
+        }
+
+        int tests = testIds.size();
+        byte[] lastStatus = new byte[tests];
+        int[] seen = new int[tests];
+        int[] flips = new int[tests];
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ);
+             FileChannel runs = FileChannel.open(runsFile, StandardOpenOption.READ)) {
+            LongBuffer offsets = index.map(FileChannel.MapMode.READ_ONLY, first * 8L, (runCount - first) * 8L).asLongBuffer();
+            long start = offsets.get(0);
+            MappedByteBuffer blocks = runs.map(FileChannel.MapMode.READ_ONLY, start, runsEnd - start);
+
+            for (int run = 0; run < offsets.limit(); run++) {
+                int block = (int) (offsets.get(run) - start);
+                int count = blocks.getInt(block + 8);
+                int testColumn = block + RUN_HEADER_BYTES;
+                int statusColumn = testColumn + count * 4;
+                for (int i = 0; i < count; i++) {
+                    int test = blocks.getInt(testColumn + i * 4);
+                    byte status = blocks.get(statusColumn + i);
+                    if (seen[test]++ > 0 && lastStatus[test] != status) {
+                        flips[test]++;
+                    }
+                    lastStatus[test] = status;
+                }
+            }
+        }
+
+        for (int test = 0; test < tests; test++) {
+            if (seen[test] >= Math.max(2, minRuns)) {
+                rates.put(testIds.get(test), flips[test] / (double) (seen[test] - 1));
+            }
+        }
+        return rates;
+    }
+
+    /** Tests whose flip rate over the last {@code lastRuns} runs is at least {@code threshold}. */
+    public Map<String, Double> flakyTests(int lastRuns, int minRuns, double threshold) throws IOException {
+        Map<String, Double> flaky = new HashMap<>();
+        for (Map.Entry<String, Double> entry : flipRates(lastRuns, minRuns).entrySet()) {
+            if (entry.getValue() > 0 && entry.getValue() >= threshold) {
+                flaky.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return flaky;
+    }
+}
@@ -0,0 +1,23 @@
+package com.utility;
+
+public class HttpPoolSettings {
+    public int maxTotal = 64;
+    public int maxPerRoute = 32;
+    public long keepAliveMs = 30000;
+    public long idleEvictMs = 10000;
+    public int connectTimeoutMs = 10000;
+    public int socketTimeoutMs = 60000;
+    public ProxyConfig proxy;
+
+    public static HttpPoolSettings fromConfig() {
+        HttpPoolSettings settings = new HttpPoolSettings();
+        settings.maxTotal = ConfigReader.getInt("http.maxTotal", settings.maxTotal);
+        settings.maxPerRoute = ConfigReader.getInt("http.maxPerRoute", settings.maxPerRoute);
+        settings.keepAliveMs = ConfigReader.getLong("http.keepAliveMs", settings.keepAliveMs);
+        settings.idleEvictMs = ConfigReader.getLong("http.idleEvictMs", settings.idleEvictMs);
+        settings.connectTimeoutMs = ConfigReader.getInt("http.connectTimeoutMs", settings.connectTimeoutMs);
+        settings.socketTimeoutMs = ConfigReader.getInt("http.socketTimeoutMs", settings.socketTimeoutMs);
+        settings.proxy = ProxyConfig.fromConfig(key -> ConfigReader.get(key, null));
+        return settings;
+    }
+}
@@ -3,15 +3,54 @@ package com.utility;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 public class JwtGenerator {
+    private static final long TOKEN_LIFETIME_MS = 3600000;
+    private static final long REFRESH_BEFORE_EXPIRY_MS = 60000;
+    private static final int MAX_CACHED_TOKENS = 10000;
+
+    private static final ConcurrentMap<String, Algorithm> ALGORITHMS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CachedToken> TOKENS = new ConcurrentHashMap<>();
+
+    /** Returns a signed token for the request, reusing a cached one until shortly before it expires. */
     public static String generateJwt(String method, String uri, String baseUrl, String accessKey, String secretKey) {
-        long expire = System.currentTimeMillis() + 3600000;
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
-        return JWT.create()
+        String canonicalRequest = QshCalculator.canonicalRequest(method, uri);
+        String cacheKey = accessKey + '\n' + canonicalRequest;
+        long now = System.currentTimeMillis();
+
+        CachedToken cached = TOKENS.get(cacheKey);
+        if (cached != null && cached.refreshAt > now) {
+            return cached.token;
+        }
+
+        long expire = now + TOKEN_LIFETIME_MS;
+        Algorithm algorithm = ALGORITHMS.computeIfAbsent(secretKey, Algorithm::HMAC256);
+        String token = JWT.create()
             .withClaim("sub", accessKey)
-            .withClaim("qsh", QshCalculator.calculateQsh(method, uri))
+            .withClaim("qsh", QshCalculator.sha256Hex(canonicalRequest))
             .withClaim("iss", accessKey)
             .withClaim("exp", expire / 1000)
             .sign(algorithm);
+
+        if (TOKENS.size() >= MAX_CACHED_TOKENS) {
+            TOKENS.values().removeIf(t -> t.refreshAt <= now);
+            if (TOKENS.size() >= MAX_CACHED_TOKENS) {
+                TOKENS.clear();
+            }
+        }
+        TOKENS.put(cacheKey, new CachedToken(token, (expire / 1000) * 1000 - REFRESH_BEFORE_EXPIRY_MS));
+        return token;
+    }
+
+    private static class CachedToken {
+        final String token;
+        final long refreshAt;
+
+        CachedToken(String token, long refreshAt) {
+            this.token = token;
+            this.refreshAt = refreshAt;
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.utility;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 
 public class ProjectConfig {
@@ -18,4 +20,26 @@ public class ProjectConfig {
     public static int getProjectId() {
         return Integer.parseInt(properties.getProperty("projectId"));
     }
-}
\ No newline at end of file
+
+    /** The single projectId, or -1 when only the projects mapping is configured. */
+    public static int getDefaultProjectId() {
+        String projectId = properties.getProperty("projectId", "").trim();
+        return projectId.isEmpty() ? ProjectRouter.UNROUTED : Integer.parseInt(projectId);
+    }
+
+    /** Parses projects=ABC:10001,DEF:10002 into issue-key prefix to projectId. */
+    public static Map<String, Integer> getProjects() {
+        Map<String, Integer> projects = new LinkedHashMap<>();
+        for (String mapping : properties.getProperty("projects", "").split(",")) {
+            if (mapping.trim().isEmpty()) {
+                continue;
+            }
+            String[] parts = mapping.split(":");
+            if (parts.length != 2) {
+                throw new RuntimeException("Invalid projects mapping '" + mapping + "', expected KEY:projectId");
+            }
+            projects.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return projects;
+    }
+}
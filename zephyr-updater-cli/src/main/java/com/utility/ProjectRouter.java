@@ -0,0 +1,40 @@
+package com.utility;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Picks the Jira project a result belongs to from the prefix of its issue key, e.g. ABC-123 goes to
+ * the project mapped to ABC. Keys without a mapping go to the default project, if there is one.
+ */
+public class ProjectRouter {
+    public static final int UNROUTED = -1;
+
+    private final Map<String, Integer> projectsByPrefix;
+    private final int defaultProjectId;
+
+    public ProjectRouter(Map<String, Integer> projectsByPrefix, int defaultProjectId) {
+        this.projectsByPrefix = new LinkedHashMap<>(projectsByPrefix);
+        this.defaultProjectId = defaultProjectId;
+    }
+
+    public static ProjectRouter single(int projectId) {
+        return new ProjectRouter(Collections.<String, Integer>emptyMap(), projectId);
+    }
+
+    public static ProjectRouter fromConfig() {
+        return new ProjectRouter(ProjectConfig.getProjects(), ProjectConfig.getDefaultProjectId());
+    }
+
+    public int route(String issueKey) {
+        if (issueKey != null) {
+            int dash = issueKey.indexOf('-');
+            Integer projectId = projectsByPrefix.get(dash > 0 ? issueKey.substring(0, dash) : issueKey);
+            if (projectId != null) {
+                return projectId;
+            }
+        }
+        return defaultProjectId;
+    }
+}
@@ -1,27 +1,100 @@
 package com.utility;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class QshCalculator {
     public static String calculateQsh(String method, String uri) {
-        String canonicalRequest = method.toUpperCase() + "&" + uri + "&";
-        return sha256Hex(canonicalRequest);
+        return sha256Hex(canonicalRequest(method, uri));
     }
 
-    private static String sha256Hex(String base) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(base.getBytes("UTF-8"));
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
+    /**
+     * Builds the Atlassian canonical request METHOD&path&query, where the query parameters
+     * are sorted by name, repeated values are sorted and comma-joined, and the jwt parameter is dropped.
+     */
+    public static String canonicalRequest(String method, String uri) {
+        String path = uri == null ? "" : uri;
+        String query = "";
+
+        int fragment = path.indexOf('#');
+        if (fragment >= 0) {
+            path = path.substring(0, fragment);
+        }
+        int queryStart = path.indexOf('?');
+        if (queryStart >= 0) {
+            query = path.substring(queryStart + 1);
+            path = path.substring(0, queryStart);
+        }
+
+        return method.toUpperCase() + "&" + canonicalPath(path) + "&" + canonicalQuery(query);
+    }
+
+    private static String canonicalPath(String path) {
+        if (path.isEmpty()) {
+            return "/";
+        }
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path.replace("&", "%26");
+    }
+
+    private static String canonicalQuery(String query) {
+        if (query.isEmpty()) {
+            return "";
+        }
+
+        Map<String, List<String>> params = new TreeMap<>();
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = decode(eq >= 0 ? pair.substring(0, eq) : pair);
+            String value = eq >= 0 ? decode(pair.substring(eq + 1)) : "";
+            if (!"jwt".equals(name)) {
+                params.computeIfAbsent(encode(name), n -> new ArrayList<>()).add(encode(value));
             }
-            return hexString.toString();
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
         }
+
+        StringBuilder canonical = new StringBuilder(query.length() + 16);
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            List<String> values = param.getValue();
+            Collections.sort(values);
+            if (canonical.length() > 0) {
+                canonical.append('&');
+            }
+            canonical.append(param.getKey()).append('=').append(String.join(",", values));
+        }
+        return canonical.toString();
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8")
+                .replace("+", "%20")
+                .replace("*", "%2A")
+                .replace("%7E", "~");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String sha256Hex(String base) {
+        return HashSupport.sha256Hex(base);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package com.utility;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.*;
+
+/**
+ * Uploads the Allure HTML report once per project and hands out the execution it is attached to,
+ * so the other executions of the run can point at that one attachment instead of each carrying a
+ * copy. Uploads run on a fixed pool, which caps how many reports are streamed at the same time.
+ */
+public class ReportUploader {
+    private static final String ATTACHMENT_ENDPOINT = "/attachment";
+
+    private final ZephyrClient client;
+    private final Path reportDir;
+    private final int compressionLevel;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final ExecutorService uploads;
+    private final ConcurrentMap<Integer, Upload> uploadsByProject = new ConcurrentHashMap<>();
+
+    private static class Upload {
+        final String executionId;
+        final Future<String> response;
+
+        Upload(String executionId, Future<String> response) {
+            this.executionId = executionId;
+            this.response = response;
+        }
+    }
+
+    public ReportUploader(ZephyrClient client, Path reportDir, int maxConcurrentUploads, int compressionLevel,
+                          int maxAttempts, long backoffMs) {
+        this.client = client;
+        this.reportDir = reportDir;
+        this.compressionLevel = compressionLevel;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = backoffMs;
+        this.uploads = Executors.newFixedThreadPool(Math.max(1, maxConcurrentUploads), AllureParser.daemonThreads("zephyr-upload"));
+    }
+
+    /**
+     * Starts the project's upload against {@code executionId} if none has been started yet and
+     * returns the execution that holds the report. Never blocks on the upload itself.
+     */
+    public String attach(int projectId, String executionId) {
+        return uploadsByProject.computeIfAbsent(projectId, id -> new Upload(executionId, uploads.submit(() -> {
+            SyncMetrics.PhaseScope timer = client.getMetrics().timePhase("attachments");
+            try {
+                return upload(id, executionId);
+            } finally {
+                timer.close();
+            }
+        }))).executionId;
+    }
+
+    public String linkComment(String holderExecutionId) {
+        return "Allure report: see the attachment on execution " + holderExecutionId;
+    }
+
+    private String upload(int projectId, String executionId) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long start = System.nanoTime();
+                String response = client.uploadAttachment(reportDir, "allure-report.zip", "execution", executionId,
+                    projectId, compressionLevel);
+                System.out.printf("📎 Uploaded %s to execution %s in %.1f s%n", reportDir, executionId, (System.nanoTime() - start) / 1e9);
+                return response;
+            } catch (IOException e) {
+                // the POST is not idempotent: a 5xx or a dropped response may still have stored a copy
+                if (!ZephyrClient.isNotProcessed(e) || attempt >= maxAttempts) {
+                    throw e;
+                }
+                long retryAfter = e instanceof ZephyrApiException ? ((ZephyrApiException) e).getRetryAfterMs() : -1;
+                client.getMetrics().recordRetry(ATTACHMENT_ENDPOINT);
+                Thread.sleep(retryAfter > 0 ? retryAfter : backoffMs * attempt);
+            }
+        }
+    }
+
+    /** Waits for every started upload and reports the ones that failed. */
+    public void awaitCompletion() throws InterruptedException {
+        int failed = 0;
+        for (Upload upload : uploadsByProject.values()) {
+            try {
+                upload.response.get();
+            } catch (ExecutionException e) {
+                System.out.println("❗Report upload to execution " + upload.executionId + " failed: " + e.getCause().getMessage());
+                failed++;
+            }
+        }
+        uploads.shutdown();
+        if (failed > 0) {
+            System.out.printf("❗%d of %d report uploads failed%n", failed, uploadsByProject.size());
+        }
+    }
+}
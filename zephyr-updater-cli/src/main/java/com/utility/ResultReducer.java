@@ -0,0 +1,160 @@
+package com.utility;
+
+import java.util.*;
+
+/**
+ * Folds Allure's one-file-per-attempt output down to one result per Zephyr test case. Attempts that
+ * share a historyId are retries of the same parameter set and are combined with the configured
+ * policy; the parameter sets of one test case are then combined worst-wins, since a single failing
+ * parameter set fails the test. Results without a Zephyr status (skipped, unknown) are dropped
+ * instead of being sent as -1.
+ */
+public class ResultReducer {
+    public enum Policy {
+        LATEST_WINS, WORST_WINS, PASS_IF_ANY_PASSED;
+
+        /** Accepts latest, worst and passIfAnyPassed, in any case and with - or _ separators. */
+        public static Policy parse(String name) {
+            switch (name.trim().toLowerCase().replace("-", "").replace("_", "")) {
+                case "latest":
+                case "latestwins":
+                    return LATEST_WINS;
+                case "worst":
+                case "worstwins":
+                    return WORST_WINS;
+                case "passifanypassed":
+                case "passifanyretrypassed":
+                    return PASS_IF_ANY_PASSED;
+                default:
+                    throw new IllegalArgumentException("Unknown reduce.policy: " + name);
+            }
+        }
+    }
+
+    private static class Attempt {
+        final String status;
+        final int code;
+        final long stop;
+        final long arrival;
+
+        Attempt(String status, int code, long stop, long arrival) {
+            this.status = status;
+            this.code = code;
+            this.stop = stop;
+            this.arrival = arrival;
+        }
+
+        boolean isLaterThan(Attempt other) {
+            return stop != other.stop ? stop > other.stop : arrival > other.arrival;
+        }
+    }
+
+    private final Policy policy;
+    /** testCaseId -> historyId -> the retries of that parameter set folded into one attempt. */
+    private final Map<String, Map<String, Attempt>> byTestCase = new LinkedHashMap<>();
+    private final Map<String, Integer> reducedCodes = new HashMap<>();
+    private long inputs;
+    private long dropped;
+
+    public ResultReducer(Policy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Folds one result in. Returns the test case's reduced result when that changed the status to
+     * send, otherwise null.
+     */
+    public synchronized TestCaseResult add(TestCaseResult result) {
+        inputs++;
+        int code = AllureToZephyrSync.mapStatus(result.status);
+        if (code < 0) {
+            dropped++;
+            return null;
+        }
+        Attempt attempt = new Attempt(result.status, code, result.stop, inputs);
+        Map<String, Attempt> parameterSets = byTestCase.computeIfAbsent(result.id, id -> new HashMap<>());
+        String historyId = result.historyId != null ? result.historyId : "";
+        parameterSets.merge(historyId, attempt, this::combineRetries);
+
+        Attempt reduced = worst(parameterSets.values());
+        Integer previous = reducedCodes.put(result.id, reduced.code);
+        return previous != null && previous == reduced.code ? null : new TestCaseResult(result.id, reduced.status);
+    }
+
+    private Attempt combineRetries(Attempt current, Attempt next) {
+        switch (policy) {
+            case WORST_WINS:
+                return severity(next.code) > severity(current.code) ? next : current;
+            case PASS_IF_ANY_PASSED:
+                if (current.code == 1 && next.code != 1) {
+                    return current;
+                }
+                if (next.code == 1 && current.code != 1) {
+                    return next;
+                }
+                return next.isLaterThan(current) ? next : current;
+            default:
+                return next.isLaterThan(current) ? next : current;
+        }
+    }
+
+    private static Attempt worst(Collection<Attempt> attempts) {
+        Attempt worst = null;
+        for (Attempt attempt : attempts) {
+            if (worst == null || severity(attempt.code) > severity(worst.code)) {
+                worst = attempt;
+            }
+        }
+        return worst;
+    }
+
+    /** Failed outranks broken (blocked in Zephyr), which outranks passed. */
+    private static int severity(int zephyrStatus) {
+        switch (zephyrStatus) {
+            case 2: return 3;
+            case 4: return 2;
+            case 1: return 1;
+            default: return 0;
+        }
+    }
+
+    /** Reads the whole stream and returns one result per test case, in first-seen order. */
+    public List<TestCaseResult> reduce(Iterable<TestCaseResult> results) {
+        for (TestCaseResult result : results) {
+            add(result);
+        }
+        return results();
+    }
+
+    /** One result per test case folded in so far, in first-seen order. */
+    public synchronized List<TestCaseResult> results() {
+        List<TestCaseResult> reduced = new ArrayList<>(byTestCase.size());
+        for (Map.Entry<String, Map<String, Attempt>> entry : byTestCase.entrySet()) {
+            reduced.add(new TestCaseResult(entry.getKey(), worst(entry.getValue().values()).status));
+        }
+        return reduced;
+    }
+
+    /** Forwards a result to {@code target} only when it changes what the test case would report. */
+    public ResultSink forwardingTo(ResultSink target) {
+        return new ResultSink() {
+            @Override
+            public void add(TestCaseResult result) throws InterruptedException {
+                TestCaseResult changed = ResultReducer.this.add(result);
+                if (changed != null) {
+                    target.add(changed);
+                }
+            }
+
+            @Override
+            public void flushChunk() throws InterruptedException {
+                target.flushChunk();
+            }
+        };
+    }
+
+    public synchronized void printSummary() {
+        System.out.printf("🧮 Reduced %d results to %d test cases (%s, %d without a Zephyr status dropped)%n",
+            inputs, byTestCase.size(), policy.name().toLowerCase(), dropped);
+    }
+}
@@ -0,0 +1,9 @@
+package com.utility;
+
+/** Something results can be pushed into one at a time, such as a single-project pipeline or the project router. */
+public interface ResultSink {
+    void add(TestCaseResult result) throws InterruptedException;
+
+    /** Sends whatever has been buffered so far instead of waiting for a full chunk. */
+    void flushChunk() throws InterruptedException;
+}
@@ -0,0 +1,180 @@
+package com.utility;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches an allure-results directory while the suite is still running and feeds every completed
+ * {@code *-result.json} into the sync in micro-batches. A file counts as complete once its
+ * size and timestamp have stopped changing for {@code settleMs}; one that is then empty or does not
+ * parse is logged and skipped.
+ */
+public class ResultsWatcher {
+    private static final String RESULT_SUFFIX = "-result.json";
+
+    private final Path directory;
+    private final ResultSink pipeline;
+    private final long pollMs;
+    private final long settleMs;
+    private final long batchMillis;
+    private final long idleTimeoutMs;
+    private final Path stopFile;
+
+    private final Map<Path, Candidate> candidates = new HashMap<>();
+    private final Set<Path> processed = new HashSet<>();
+    private volatile boolean stopRequested;
+
+    private static class Candidate {
+        long size = -1;
+        long modified = -1;
+        long stableSince;
+    }
+
+    public ResultsWatcher(Path directory, ResultSink pipeline, SyncOptions options) {
+        this.directory = directory;
+        this.pipeline = pipeline;
+        this.pollMs = options.watchPollMs;
+        this.settleMs = options.watchSettleMs;
+        this.batchMillis = options.watchBatchMillis;
+        this.idleTimeoutMs = options.watchIdleTimeoutMs;
+        this.stopFile = options.watchStopFile == null || options.watchStopFile.isEmpty()
+            ? null : directory.resolve(options.watchStopFile);
+    }
+
+    /** Runs until the stop file appears or no new result has arrived for the idle timeout. */
+    public void run() throws IOException, InterruptedException {
+        Files.createDirectories(directory);
+        try (WatchService watcher = directory.getFileSystem().newWatchService()) {
+            directory.register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+            scan();
+
+            long lastActivity = System.currentTimeMillis();
+            long lastFlush = lastActivity;
+            System.out.println("👀 Watching " + directory + " for new results...");
+
+            while (true) {
+                WatchKey key = watcher.poll(pollMs, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == OVERFLOW) {
+                            scan();
+                        } else {
+                            consider(directory.resolve((Path) event.context()));
+                        }
+                    }
+                    key.reset();
+                    lastActivity = System.currentTimeMillis();
+                }
+
+                int added = collectCompleted();
+                long now = System.currentTimeMillis();
+                if (added > 0) {
+                    lastActivity = now;
+                }
+                if (now - lastFlush >= batchMillis) {
+                    pipeline.flushChunk();
+                    lastFlush = now;
+                }
+
+                boolean stopping = stopRequested || (stopFile != null && Files.exists(stopFile));
+                boolean idle = idleTimeoutMs > 0 && now - lastActivity >= idleTimeoutMs;
+                if ((stopping || idle) && candidates.isEmpty()) {
+                    System.out.printf("🛑 Watch finished (%s), %d results picked up%n",
+                        stopping ? "stop requested" : "idle timeout", processed.size());
+                    return;
+                }
+                if (stopping) {
+                    // let pending files settle, but do not wait for new ones
+                    lastActivity = 0;
+                }
+            }
+        }
+    }
+
+    /** Asks the watch loop to pick up the files that are still settling and then return. */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    private void scan() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + RESULT_SUFFIX)) {
+            for (Path file : files) {
+                consider(file);
+            }
+        }
+    }
+
+    private void consider(Path file) {
+        if (file.getFileName().toString().endsWith(RESULT_SUFFIX) && !processed.contains(file)) {
+            candidates.computeIfAbsent(file, f -> new Candidate());
+        }
+    }
+
+    private int collectCompleted() throws InterruptedException {
+        int added = 0;
+        long now = System.currentTimeMillis();
+
+        for (Iterator<Map.Entry<Path, Candidate>> it = candidates.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Path, Candidate> entry = it.next();
+            Path file = entry.getKey();
+            Candidate candidate = entry.getValue();
+
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (IOException e) {
+                it.remove();
+                continue;
+            }
+
+            long size = attributes.size();
+            long modified = attributes.lastModifiedTime().toMillis();
+            if (size != candidate.size || modified != candidate.modified) {
+                candidate.size = size;
+                candidate.modified = modified;
+                candidate.stableSince = now;
+                continue;
+            }
+            if (now - candidate.stableSince < settleMs) {
+                continue;
+            }
+            if (size == 0) {
+                System.out.println("❗Skipping empty result file " + file);
+                it.remove();
+                processed.add(file);
+                continue;
+            }
+
+            try {
+                TestCaseResult result = AllureParser.parseFile(file);
+                it.remove();
+                processed.add(file);
+                if (result != null) {
+                    pipeline.add(result);
+                    added++;
+                }
+            } catch (JsonProcessingException e) {
+                // unchanged for settleMs, so the writer is done with it; retrying would keep the watch alive forever
+                System.out.println("❗Skipping malformed result file " + file + ": " + e.getOriginalMessage());
+                it.remove();
+                processed.add(file);
+            } catch (IOException e) {
+                System.out.println("❗Skipping unreadable result file " + file + ": " + e.getMessage());
+                it.remove();
+                processed.add(file);
+            }
+        }
+        return added;
+    }
+}
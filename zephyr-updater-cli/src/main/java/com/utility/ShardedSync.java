@@ -0,0 +1,191 @@
+package com.utility;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes results to one shard per Jira project. Every shard has its own cycle, journal, intake queue
+ * and {@link SyncPipeline}, so its own creation pool, update workers and rate limiter, and may hold
+ * at most pipeline.shardMaxConnections of the shared client's connections. A project that is slow or
+ * throttled only fills its own queue and its own connection budget and does not hold up the others.
+ */
+public class ShardedSync implements ResultSink {
+    private static final TestCaseResult FLUSH = new TestCaseResult(null, null);
+    private static final TestCaseResult END = new TestCaseResult(null, null);
+
+    private final ZephyrClient client;
+    private final ProjectRouter router;
+    private final String cycleName;
+    private final SyncOptions options;
+    private final Map<Integer, Shard> shards = new ConcurrentHashMap<>();
+    private final AtomicInteger unrouted = new AtomicInteger();
+    private final LongAdder blockedNanos = new LongAdder();
+    private final ReportUploader reports;
+    private volatile Map<String, Double> flakyTests = new HashMap<>();
+
+    public ShardedSync(ZephyrClient client, ProjectRouter router, String cycleName, SyncOptions options) {
+        this.client = client;
+        this.router = router;
+        this.cycleName = cycleName;
+        this.options = options;
+        this.reports = options.reportDir == null || options.reportDir.isEmpty() ? null
+            : new ReportUploader(client, Paths.get(options.reportDir), options.maxConcurrentUploads,
+                options.reportCompressionLevel, options.maxAttempts, options.backoffMs);
+    }
+
+    /** Must be set before the first result is added; see {@link SyncPipeline#setFlakyTests}. */
+    public void setFlakyTests(Map<String, Double> flakyTests) {
+        this.flakyTests = flakyTests;
+    }
+
+    @Override
+    public void add(TestCaseResult result) throws InterruptedException {
+        int projectId = router.route(result.id);
+        if (projectId == ProjectRouter.UNROUTED) {
+            if (unrouted.incrementAndGet() == 1) {
+                System.out.println("❗No project mapped for " + result.id + ", skipping unmapped results");
+            }
+            return;
+        }
+        BlockingQueue<TestCaseResult> queue = shards.computeIfAbsent(projectId, Shard::new).queue;
+        if (!queue.offer(result)) {
+            long start = System.nanoTime();
+            queue.put(result);
+            blockedNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /** A shard whose queue is full has a full chunk coming anyway, so it is skipped rather than waited for. */
+    @Override
+    public void flushChunk() {
+        for (Shard shard : shards.values()) {
+            shard.queue.offer(FLUSH);
+        }
+    }
+
+    /**
+     * Feeds every result of the stream to its project's shard; blocks only while that shard's queue is full.
+     * Time spent blocked is reported as "backpressure", so "parse" is the parser's own busy time.
+     */
+    public void process(Iterable<TestCaseResult> results) throws InterruptedException {
+        long start = System.nanoTime();
+        long blockedBefore = blockedNanos.sum();
+        for (TestCaseResult result : results) {
+            add(result);
+        }
+        long blocked = blockedNanos.sum() - blockedBefore;
+        client.getMetrics().recordPhase("parse", System.nanoTime() - start - blocked);
+        client.getMetrics().recordPhase("backpressure", blocked);
+    }
+
+    /** Drains every shard and waits for all projects; fails if any project could not be synced. */
+    public void finish() throws IOException, InterruptedException {
+        for (Shard shard : shards.values()) {
+            shard.queue.put(END);
+        }
+        List<String> failedProjects = new ArrayList<>();
+        for (Shard shard : shards.values()) {
+            shard.thread.join();
+            if (shard.failure != null) {
+                failedProjects.add(shard.projectId + " (" + shard.failure.getMessage() + ")");
+            }
+        }
+        if (reports != null) {
+            reports.awaitCompletion();
+        }
+        if (unrouted.get() > 0) {
+            System.out.printf("❗%d results had no project mapping and were skipped%n", unrouted.get());
+        }
+        if (!failedProjects.isEmpty()) {
+            throw new IOException("Sync failed for projects " + String.join(", ", failedProjects));
+        }
+    }
+
+    private class Shard {
+        final int projectId;
+        final BlockingQueue<TestCaseResult> queue = new ArrayBlockingQueue<>(Math.max(1, options.shardQueueSize));
+        final Thread thread;
+        volatile Exception failure;
+        private boolean ended;
+
+        Shard(int projectId) {
+            this.projectId = projectId;
+            this.thread = new Thread(this::run, "zephyr-project-" + projectId);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void run() {
+            try (SyncJournal journal = options.journalEnabled
+                ? SyncJournal.open(options.journalDir, projectId + "-" + cycleName) : null) {
+                String cycleId = resolveCycle(journal);
+                SyncPipeline pipeline = new SyncPipeline(client.withConnectionLimit(options.shardMaxConnections),
+                    cycleId, projectId, options, journal);
+                pipeline.setReportUploader(reports);
+                pipeline.setFlakyTests(flakyTests);
+
+                int count = 0;
+                while (true) {
+                    TestCaseResult result = queue.take();
+                    if (result == END) {
+                        ended = true;
+                        break;
+                    } else if (result == FLUSH) {
+                        pipeline.flushChunk();
+                    } else {
+                        pipeline.add(result);
+                        count++;
+                    }
+                }
+                pipeline.finish();
+                System.out.printf("✅ Project %d: %d results synced to cycle %s%n", projectId, count, cycleId);
+            } catch (Exception e) {
+                failure = e;
+                System.out.println("❌ Project " + projectId + " sync failed: " + e.getMessage());
+                if (!ended) {
+                    discardUntilEnd();
+                }
+            }
+        }
+
+        /** Keeps taking results after a failure so the router never blocks on this shard's full queue. */
+        private void discardUntilEnd() {
+            try {
+                while (queue.take() != END) {
+                    // dropped; the project is reported as failed in finish()
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private String resolveCycle(SyncJournal journal) throws IOException {
+            String cycleId = journal != null ? journal.getCycleId() : null;
+            if (cycleId != null) {
+                System.out.printf("🔁 Resuming cycle %s of project %d from journal (%d executions known)%n",
+                    cycleId, projectId, journal.size());
+                return cycleId;
+            }
+            SyncMetrics.PhaseScope timer = client.getMetrics().timePhase("cycle");
+            try {
+                String cycleResponse = client.createCycle(cycleName, projectId, -1);
+                cycleId = JsonSupport.readString(cycleResponse, "id");
+            } finally {
+                timer.close();
+            }
+            if (journal != null) {
+                journal.recordCycle(cycleId);
+            }
+            return cycleId;
+        }
+    }
+}
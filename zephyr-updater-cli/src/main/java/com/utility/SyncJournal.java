@@ -0,0 +1,196 @@
+package com.utility;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local record of one sync run: its cycle, the issueKey to executionId mapping and a hash
+ * of the status last pushed for each execution. A crashed or repeated run with the same run key reuses
+ * the cycle and executions and skips updates whose status has not changed.
+ *
+ * <p>Each line is one tab-separated entry ({@code C cycleId}, {@code E issueKey executionId},
+ * {@code S executionId hash}); later lines win. The file is rewritten as a snapshot once superseded
+ * lines outnumber the live ones.
+ */
+public class SyncJournal implements Closeable {
+    private static final int FLUSH_EVERY = 100;
+    private static final int MIN_COMPACT_LINES = 10000;
+
+    private final Path file;
+    private final Map<String, String> executions = new ConcurrentHashMap<>();
+    private final Map<String, String> statusHashes = new ConcurrentHashMap<>();
+    private volatile String cycleId;
+
+    private BufferedWriter writer;
+    private long lines;
+    private int unflushed;
+
+    public SyncJournal(Path file) throws IOException {
+        this.file = file;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        load();
+        if (needsCompaction()) {
+            compact();
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /** Opens the journal for a run key (e.g. project and cycle name) under the given directory. */
+    public static SyncJournal open(String directory, String runKey) throws IOException {
+        String name = runKey.replaceAll("[^A-Za-z0-9._-]+", "_");
+        return new SyncJournal(Paths.get(directory, name + ".journal"));
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        dropTornTail();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                String[] fields = line.split("\t");
+                if (fields[0].equals("C") && fields.length == 2) {
+                    cycleId = fields[1];
+                } else if (fields[0].equals("E") && fields.length == 3) {
+                    executions.put(fields[1], fields[2]);
+                } else if (fields[0].equals("S") && fields.length == 3) {
+                    statusHashes.put(fields[1], fields[2]);
+                }
+            }
+        }
+    }
+
+    /** Cuts off a last line that a crash left without its newline, so new entries start on a fresh line. */
+    private void dropTornTail() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            ByteBuffer one = ByteBuffer.allocate(1);
+            long end = size;
+            while (end > 0) {
+                one.clear();
+                channel.read(one, end - 1);
+                if (one.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < size) {
+                channel.truncate(end);
+            }
+        }
+    }
+
+    private boolean needsCompaction() {
+        long live = executions.size() + statusHashes.size() + 1;
+        return lines > MIN_COMPACT_LINES && lines > live * 2;
+    }
+
+    private void compact() throws IOException {
+        Path snapshot = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(snapshot, StandardCharsets.UTF_8)) {
+            if (cycleId != null) {
+                out.write("C\t" + cycleId + "\n");
+            }
+            for (Map.Entry<String, String> entry : executions.entrySet()) {
+                out.write("E\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+            }
+            for (Map.Entry<String, String> entry : statusHashes.entrySet()) {
+                out.write("S\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+            }
+        }
+        Files.move(snapshot, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        lines = 1L + executions.size() + statusHashes.size();
+    }
+
+    public String getCycleId() {
+        return cycleId;
+    }
+
+    public synchronized void recordCycle(String cycleId) throws IOException {
+        this.cycleId = cycleId;
+        append("C\t" + cycleId, true);
+    }
+
+    public String getExecutionId(String issueKey) {
+        return executions.get(issueKey);
+    }
+
+    /** Records newly created executions; flushed straight away so a crash does not create them twice. */
+    public synchronized void recordExecutions(Map<String, String> created) throws IOException {
+        for (Map.Entry<String, String> entry : created.entrySet()) {
+            if (!entry.getValue().equals(executions.put(entry.getKey(), entry.getValue()))) {
+                append("E\t" + entry.getKey() + "\t" + entry.getValue(), false);
+            }
+        }
+        writer.flush();
+        unflushed = 0;
+    }
+
+    public boolean isUnchanged(String executionId, int status) {
+        return statusHash(executionId, status).equals(statusHashes.get(executionId));
+    }
+
+    public void recordStatus(String executionId, int status) {
+        String hash = statusHash(executionId, status);
+        if (hash.equals(statusHashes.put(executionId, hash))) {
+            return;
+        }
+        synchronized (this) {
+            try {
+                append("S\t" + executionId + "\t" + hash, false);
+            } catch (IOException e) {
+                System.out.println("❗Failed to write sync journal: " + e.getMessage());
+            }
+        }
+    }
+
+    private void append(String line, boolean flush) throws IOException {
+        writer.write(line);
+        writer.write('\n');
+        lines++;
+        if (flush || ++unflushed >= FLUSH_EVERY) {
+            writer.flush();
+            unflushed = 0;
+            if (needsCompaction()) {
+                writer.close();
+                compact();
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        }
+    }
+
+    static String statusHash(String executionId, int status) {
+        CRC32 crc = new CRC32();
+        crc.update((executionId + "\u0000" + status).getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    public int size() {
+        return executions.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+        if (needsCompaction()) {
+            compact();
+        }
+    }
+}
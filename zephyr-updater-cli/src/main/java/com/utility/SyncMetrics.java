@@ -0,0 +1,223 @@
+package com.utility;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-phase, per-endpoint request metrics for a sync run. Recording only touches striped
+ * counters and atomic histogram buckets, so it is safe and cheap on the request hot path.
+ */
+public class SyncMetrics {
+    private static final ThreadLocal<String> CURRENT_PHASE = ThreadLocal.withInitial(() -> "other");
+
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> phaseNanos = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, WallClock> wallClocks = new ConcurrentHashMap<>();
+
+    public static class EndpointStats {
+        final String phase;
+        final String endpoint;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder bytesSent = new LongAdder();
+        final LongAdder bytesReceived = new LongAdder();
+        final LongAdder throttledNanos = new LongAdder();
+
+        EndpointStats(String phase, String endpoint) {
+            this.phase = phase;
+            this.endpoint = endpoint;
+        }
+    }
+
+    /** The phase the calling thread is working in, as set by {@link #timePhase}. */
+    public static String currentPhase() {
+        return CURRENT_PHASE.get();
+    }
+
+    public interface PhaseScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public void recordRequest(String endpoint, long nanos, long bytesSent, long bytesReceived, boolean failed) {
+        EndpointStats stats = stats(endpoint);
+        stats.latency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        stats.bytesSent.add(bytesSent);
+        stats.bytesReceived.add(bytesReceived);
+        if (failed) {
+            stats.errors.increment();
+        }
+    }
+
+    public void recordRetry(String endpoint) {
+        stats(endpoint).retries.increment();
+    }
+
+    public void recordThrottled(String endpoint, long nanos) {
+        stats(endpoint).throttledNanos.add(nanos);
+    }
+
+    public void recordPhase(String phase, long nanos) {
+        phaseNanos.computeIfAbsent(phase, p -> new LongAdder()).add(nanos);
+    }
+
+    /**
+     * Marks the calling thread as working in the given phase, so its requests are recorded under it, and
+     * times the phase until the returned scope is closed. A phase can run on several threads or shards at
+     * once; only the wall-clock time during which at least one of them was inside it is recorded, so
+     * overlapping work is not counted twice.
+     */
+    public PhaseScope timePhase(String phase) {
+        String previous = CURRENT_PHASE.get();
+        CURRENT_PHASE.set(phase);
+        WallClock clock = wallClocks.computeIfAbsent(phase, p -> new WallClock());
+        clock.enter();
+        return () -> {
+            CURRENT_PHASE.set(previous);
+            long nanos = clock.exit();
+            if (nanos > 0) {
+                recordPhase(phase, nanos);
+            }
+        };
+    }
+
+    private static class WallClock {
+        private int active;
+        private long since;
+
+        synchronized void enter() {
+            if (active++ == 0) {
+                since = System.nanoTime();
+            }
+        }
+
+        /** The time since the first thread entered when the last one leaves, otherwise 0. */
+        synchronized long exit() {
+            return --active == 0 ? System.nanoTime() - since : 0;
+        }
+    }
+
+    /** Collapses IDs in a request URI, e.g. /public/rest/api/1.0/execution/123/execute to /execution/{id}/execute. */
+    public static String endpoint(String uri) {
+        String path = uri;
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        if (path.startsWith("/public/rest/api/1.0")) {
+            path = path.substring("/public/rest/api/1.0".length());
+        }
+        StringBuilder endpoint = new StringBuilder(path.length());
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            endpoint.append('/').append(segment.chars().anyMatch(Character::isDigit) ? "{id}" : segment);
+        }
+        return endpoint.length() == 0 ? "/" : endpoint.toString();
+    }
+
+    private EndpointStats stats(String endpoint) {
+        String phase = CURRENT_PHASE.get();
+        return endpoints.computeIfAbsent(phase + " " + endpoint, k -> new EndpointStats(phase, endpoint));
+    }
+
+    public LatencyHistogram latency(String phase, String endpoint) {
+        EndpointStats stats = endpoints.get(phase + " " + endpoint);
+        return stats != null ? stats.latency : new LatencyHistogram();
+    }
+
+    public void writeJson(Path file) throws IOException {
+        ObjectNode root = JsonSupport.mapper().createObjectNode();
+
+        ObjectNode phases = root.putObject("phases");
+        new TreeMap<>(phaseNanos).forEach((phase, nanos) -> phases.put(phase, nanos.sum() / 1e9));
+
+        ArrayNode endpointNodes = root.putArray("endpoints");
+        for (EndpointStats stats : sortedStats().values()) {
+            ObjectNode node = endpointNodes.addObject();
+            node.put("phase", stats.phase);
+            node.put("endpoint", stats.endpoint);
+            node.put("requests", stats.latency.count());
+            node.put("errors", stats.errors.sum());
+            node.put("retries", stats.retries.sum());
+            node.put("bytesSent", stats.bytesSent.sum());
+            node.put("bytesReceived", stats.bytesReceived.sum());
+            node.put("throttledSeconds", stats.throttledNanos.sum() / 1e9);
+            ObjectNode latency = node.putObject("latencyMs");
+            latency.put("p50", stats.latency.percentile(50) / 1000.0);
+            latency.put("p95", stats.latency.percentile(95) / 1000.0);
+            latency.put("p99", stats.latency.percentile(99) / 1000.0);
+            latency.put("max", stats.latency.maxMicros() / 1000.0);
+        }
+
+        JsonSupport.mapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), root);
+    }
+
+    public void writePrometheus(Path file) throws IOException {
+        Map<String, EndpointStats> stats = sortedStats();
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("# TYPE zephyr_sync_phase_duration_seconds gauge\n");
+            for (Map.Entry<String, LongAdder> phase : new TreeMap<>(phaseNanos).entrySet()) {
+                out.write("zephyr_sync_phase_duration_seconds{phase=\"" + phase.getKey() + "\"} " + phase.getValue().sum() / 1e9 + "\n");
+            }
+
+            out.write("# TYPE zephyr_sync_request_duration_seconds summary\n");
+            for (EndpointStats s : stats.values()) {
+                String labels = "phase=\"" + s.phase + "\",endpoint=\"" + s.endpoint + "\"";
+                for (double quantile : new double[]{0.5, 0.95, 0.99, 1.0}) {
+                    long micros = quantile == 1.0 ? s.latency.maxMicros() : s.latency.percentile(quantile * 100);
+                    out.write("zephyr_sync_request_duration_seconds{" + labels + ",quantile=\"" + quantile + "\"} " + micros / 1e6 + "\n");
+                }
+                out.write("zephyr_sync_request_duration_seconds_sum{" + labels + "} " + s.latency.sumMicros() / 1e6 + "\n");
+                out.write("zephyr_sync_request_duration_seconds_count{" + labels + "} " + s.latency.count() + "\n");
+            }
+
+            writeCounter(out, "zephyr_sync_errors_total", stats, s -> s.errors.sum());
+            writeCounter(out, "zephyr_sync_retries_total", stats, s -> s.retries.sum());
+            writeCounter(out, "zephyr_sync_bytes_sent_total", stats, s -> s.bytesSent.sum());
+            writeCounter(out, "zephyr_sync_bytes_received_total", stats, s -> s.bytesReceived.sum());
+            writeCounter(out, "zephyr_sync_throttled_seconds_total", stats, s -> s.throttledNanos.sum() / 1e9);
+        }
+    }
+
+    private static void writeCounter(Writer out, String name, Map<String, EndpointStats> stats,
+                                     java.util.function.Function<EndpointStats, Number> value) throws IOException {
+        out.write("# TYPE " + name + " counter\n");
+        for (EndpointStats s : stats.values()) {
+            out.write(name + "{phase=\"" + s.phase + "\",endpoint=\"" + s.endpoint + "\"} " + value.apply(s) + "\n");
+        }
+    }
+
+    private Map<String, EndpointStats> sortedStats() {
+        return new TreeMap<>(endpoints);
+    }
+
+    /** Writes the JSON and Prometheus files configured in the options; a blank path skips that format. */
+    public void export(SyncOptions options) {
+        try {
+            if (options.metricsJsonPath != null && !options.metricsJsonPath.isEmpty()) {
+                writeJson(Paths.get(options.metricsJsonPath));
+            }
+            if (options.metricsPrometheusPath != null && !options.metricsPrometheusPath.isEmpty()) {
+                writePrometheus(Paths.get(options.metricsPrometheusPath));
+            }
+        } catch (IOException e) {
+            System.out.println("❗Failed to write sync metrics: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.utility;
+
+public class SyncOptions {
+    public String resultsDir = "allure-results/";
+    public int parserThreads = Runtime.getRuntime().availableProcessors();
+    public int initialConcurrency = 4;
+    public int maxConcurrency = 32;
+    public int maxAttempts = 5;
+    public long backoffMs = 1000;
+    public boolean bulkUpdates = false;
+    public int bulkBatchSize = 500;
+    public int chunkSize = 500;
+    public int createParallelism = 2;
+    public int maxPendingUpdates = 5000;
+    public int shardQueueSize = 10000;
+    /** Pooled connections one project may hold at once; keep it below http.maxPerRoute. 0 shares the pool freely. */
+    public int shardMaxConnections = 16;
+    public boolean journalEnabled = false;
+    public String journalDir = ".zephyr-sync";
+    /** Collapses retries and parameter sets to one result per test case before syncing. */
+    public boolean reduceResults = true;
+    /** latest, worst or passIfAnyPassed; how retries of one parameter set are combined. */
+    public String reducePolicy = "latest";
+    /** Records each run's reduced results and finds flaky tests; see HistoryStore. */
+    public boolean historyEnabled = false;
+    public String historyDir = ".zephyr-history";
+    public int flakyWindowRuns = 20;
+    public int flakyMinRuns = 5;
+    public double flakyThreshold = 0.3;
+    /**
+     * Notes a flaky test's flip rate in its execution comment; single update mode only. Zephyr replaces
+     * an execution's comment on update, so this overwrites any comment already on it.
+     */
+    public boolean flakyComments = false;
+    public boolean watch = false;
+    public long watchPollMs = 200;
+    public long watchSettleMs = 300;
+    public long watchBatchMillis = 2000;
+    public long watchIdleTimeoutMs = 600000;
+    public String watchStopFile = ".sync-done";
+    /** Allure HTML report directory to attach; blank disables uploads. */
+    public String reportDir = "";
+    public int maxConcurrentUploads = 2;
+    public int reportCompressionLevel = 1;
+    /**
+     * Points the other executions at the uploaded report through their comment; single update mode only.
+     * Zephyr replaces an execution's comment on update, so this overwrites any comment already on it.
+     */
+    public boolean linkReportInComments = true;
+    /** Metrics export files; blank skips the export. config.properties turns both on for CLI runs. */
+    public String metricsJsonPath = "";
+    public String metricsPrometheusPath = "";
+
+    public static SyncOptions fromConfig() {
+        SyncOptions options = new SyncOptions();
+        options.resultsDir = ConfigReader.get("allure.resultsDir", options.resultsDir);
+        options.parserThreads = ConfigReader.getInt("parser.threads", options.parserThreads);
+        options.initialConcurrency = ConfigReader.getInt("update.initialConcurrency", options.initialConcurrency);
+        options.maxConcurrency = ConfigReader.getInt("update.maxConcurrency", options.maxConcurrency);
+        options.maxAttempts = ConfigReader.getInt("update.maxAttempts", options.maxAttempts);
+        options.backoffMs = ConfigReader.getLong("update.backoffMs", options.backoffMs);
+        options.bulkUpdates = "bulk".equalsIgnoreCase(ConfigReader.get("update.mode", "single"));
+        options.bulkBatchSize = ConfigReader.getInt("bulk.batchSize", options.bulkBatchSize);
+        options.chunkSize = ConfigReader.getInt("pipeline.chunkSize", options.chunkSize);
+        options.createParallelism = ConfigReader.getInt("pipeline.createParallelism", options.createParallelism);
+        options.maxPendingUpdates = ConfigReader.getInt("pipeline.maxPendingUpdates", options.maxPendingUpdates);
+        options.shardQueueSize = ConfigReader.getInt("pipeline.shardQueueSize", options.shardQueueSize);
+        options.shardMaxConnections = ConfigReader.getInt("pipeline.shardMaxConnections", options.shardMaxConnections);
+        options.journalEnabled = ConfigReader.getBoolean("journal.enabled", options.journalEnabled);
+        options.journalDir = ConfigReader.get("journal.dir", options.journalDir);
+        options.reduceResults = ConfigReader.getBoolean("reduce.enabled", options.reduceResults);
+        options.reducePolicy = ConfigReader.get("reduce.policy", options.reducePolicy);
+        options.historyEnabled = ConfigReader.getBoolean("history.enabled", options.historyEnabled);
+        options.historyDir = ConfigReader.get("history.dir", options.historyDir);
+        options.flakyWindowRuns = ConfigReader.getInt("history.flakyWindowRuns", options.flakyWindowRuns);
+        options.flakyMinRuns = ConfigReader.getInt("history.flakyMinRuns", options.flakyMinRuns);
+        options.flakyThreshold = Double.parseDouble(ConfigReader.get("history.flakyThreshold", String.valueOf(options.flakyThreshold)));
+        options.flakyComments = ConfigReader.getBoolean("history.flakyComments", options.flakyComments);
+        options.watch = ConfigReader.getBoolean("watch.enabled", options.watch);
+        options.watchPollMs = ConfigReader.getLong("watch.pollMs", options.watchPollMs);
+        options.watchSettleMs = ConfigReader.getLong("watch.settleMs", options.watchSettleMs);
+        options.watchBatchMillis = ConfigReader.getLong("watch.batchMillis", options.watchBatchMillis);
+        options.watchIdleTimeoutMs = ConfigReader.getLong("watch.idleTimeoutMs", options.watchIdleTimeoutMs);
+        options.watchStopFile = ConfigReader.get("watch.stopFile", options.watchStopFile);
+        options.reportDir = ConfigReader.get("attachments.reportDir", options.reportDir);
+        options.maxConcurrentUploads = ConfigReader.getInt("attachments.maxConcurrentUploads", options.maxConcurrentUploads);
+        options.reportCompressionLevel = ConfigReader.getInt("attachments.compressionLevel", options.reportCompressionLevel);
+        options.linkReportInComments = ConfigReader.getBoolean("attachments.linkInComments", options.linkReportInComments);
+        options.metricsJsonPath = ConfigReader.get("metrics.jsonPath", options.metricsJsonPath);
+        options.metricsPrometheusPath = ConfigReader.get("metrics.prometheusPath", options.metricsPrometheusPath);
+        return options;
+    }
+}
@@ -0,0 +1,292 @@
+package com.utility;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Streams parsed results through chunked execution creation into the update stage.
+ * Each stage hands off through a bounded buffer, so a slow stage blocks the one before it
+ * and memory stays proportional to the chunk size and queue bounds, not the result count.
+ *
+ * <p>Chunks are created and updated in parallel, so a test case reported twice may be in flight in two
+ * chunks at once. Every result is numbered in arrival order: the execution of an issue is created only
+ * once, however many chunks ask for it, and the dispatcher drops a status older than one it already has,
+ * so the execution ends up with the status that arrived last.
+ */
+public class SyncPipeline implements ResultSink {
+    private final ZephyrClient client;
+    private final String cycleId;
+    private final int projectId;
+    private final SyncOptions options;
+    private final SyncMetrics metrics;
+    private final SyncJournal journal;
+
+    private final ExecutorService creators;
+    private final Semaphore chunksInFlight;
+    private final ExecutionUpdateDispatcher dispatcher;
+    private final BulkStatusUpdater bulk;
+    private final AtomicInteger failedResults = new AtomicInteger();
+    private final AtomicInteger unchangedResults = new AtomicInteger();
+    private long blockedNanos;
+
+    /**
+     * Executions created by this run, so a later status for the same issue updates instead of adding another.
+     * The first chunk to need an issue creates it; any other chunk waits for that creation. A future
+     * completes with null when the creation failed.
+     */
+    private final Map<String, CompletableFuture<String>> createdExecutions = new ConcurrentHashMap<>();
+    private volatile ReportUploader reports;
+    private volatile Map<String, Double> flakyTests = new HashMap<>();
+    private List<TestCaseResult> chunk;
+    private long nextSequence;
+
+    public SyncPipeline(ZephyrClient client, String cycleId, int projectId, SyncOptions options) {
+        this(client, cycleId, projectId, options, null);
+    }
+
+    /** With a journal, executions already created for the run are reused and unchanged statuses are skipped. */
+    public SyncPipeline(ZephyrClient client, String cycleId, int projectId, SyncOptions options, SyncJournal journal) {
+        this.client = client;
+        this.journal = journal;
+        this.cycleId = cycleId;
+        this.projectId = projectId;
+        this.options = options;
+        this.metrics = client.getMetrics();
+
+        int parallelism = Math.max(1, options.createParallelism);
+        this.creators = Executors.newFixedThreadPool(parallelism, AllureParser.daemonThreads("zephyr-create"));
+        this.chunksInFlight = new Semaphore(parallelism * 2);
+        this.dispatcher = new ExecutionUpdateDispatcher(client, options.initialConcurrency, options.maxConcurrency,
+            options.maxAttempts, options.backoffMs, options.maxPendingUpdates);
+        this.bulk = options.bulkUpdates
+            ? new BulkStatusUpdater(client, dispatcher, options.bulkBatchSize, options.maxAttempts, options.backoffMs)
+            : null;
+        this.chunk = new ArrayList<>(options.chunkSize);
+        if (journal != null) {
+            dispatcher.setUpdateListener(journal::recordStatus);
+        }
+    }
+
+    /** Attaches the run's report to the first execution of the project and links it from the others. */
+    public void setReportUploader(ReportUploader reports) {
+        this.reports = reports;
+    }
+
+    /**
+     * Flip rates of tests to flag as flaky in their execution comment; single update mode only. The note
+     * replaces any comment a person left on the execution, so SyncSession only passes these on when
+     * history.flakyComments is set.
+     */
+    public void setFlakyTests(Map<String, Double> flakyTests) {
+        this.flakyTests = flakyTests;
+    }
+
+    /**
+     * Feeds every result of the stream into the pipeline; blocks while downstream stages are full. Time
+     * spent blocked is reported as "backpressure", so "parse" is the parser's own busy time.
+     */
+    public void process(Stream<TestCaseResult> results) throws InterruptedException {
+        long start = System.nanoTime();
+        long blockedBefore = blockedNanos;
+        for (TestCaseResult result : (Iterable<TestCaseResult>) results::iterator) {
+            add(result);
+        }
+        long blocked = blockedNanos - blockedBefore;
+        metrics.recordPhase("parse", System.nanoTime() - start - blocked);
+        metrics.recordPhase("backpressure", blocked);
+    }
+
+    @Override
+    public void add(TestCaseResult result) throws InterruptedException {
+        chunk.add(result);
+        if (chunk.size() >= options.chunkSize) {
+            flushChunk();
+        }
+    }
+
+    /** Hands the current partial chunk to the creation stage. */
+    @Override
+    public void flushChunk() throws InterruptedException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<TestCaseResult> full = chunk;
+        long firstSequence = nextSequence;
+        nextSequence += full.size();
+        chunk = new ArrayList<>(options.chunkSize);
+
+        if (!chunksInFlight.tryAcquire()) {
+            long start = System.nanoTime();
+            chunksInFlight.acquire();
+            blockedNanos += System.nanoTime() - start;
+        }
+        creators.execute(() -> {
+            try {
+                createAndUpdate(full, firstSequence);
+            } finally {
+                chunksInFlight.release();
+            }
+        });
+    }
+
+    private void createAndUpdate(List<TestCaseResult> results, long firstSequence) {
+        // only the last result of a test case in the chunk is sent
+        Map<String, Integer> latest = new LinkedHashMap<>(results.size() * 4 / 3 + 1);
+        for (int i = 0; i < results.size(); i++) {
+            latest.remove(results.get(i).id);
+            latest.put(results.get(i).id, i);
+        }
+
+        Map<String, String> executions = new HashMap<>(latest.size() * 4 / 3 + 1);
+        Map<String, CompletableFuture<String>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<String>> awaited = new HashMap<>();
+        for (String issueKey : latest.keySet()) {
+            String known = journal != null ? journal.getExecutionId(issueKey) : null;
+            if (known != null) {
+                executions.put(issueKey, known);
+                continue;
+            }
+            CompletableFuture<String> creation = new CompletableFuture<>();
+            CompletableFuture<String> existing = createdExecutions.putIfAbsent(issueKey, creation);
+            if (existing == null) {
+                owned.put(issueKey, creation);
+            } else {
+                awaited.put(issueKey, existing);
+            }
+        }
+
+        SyncMetrics.PhaseScope creating = metrics.timePhase("executions");
+        try {
+            // this chunk's own creations come first, so two chunks waiting on each other cannot deadlock
+            createOwned(owned, executions);
+            for (Map.Entry<String, CompletableFuture<String>> creation : awaited.entrySet()) {
+                String executionId = creation.getValue().join();
+                if (executionId != null) {
+                    executions.put(creation.getKey(), executionId);
+                }
+            }
+        } finally {
+            creating.close();
+        }
+
+        String reportHolder = null;
+        if (reports != null && !executions.isEmpty()) {
+            reportHolder = reports.attach(projectId, executions.values().iterator().next());
+        }
+        boolean linkReport = reportHolder != null && bulk == null && options.linkReportInComments;
+
+        SyncMetrics.PhaseScope updating = metrics.timePhase("update");
+        try {
+            for (int index : latest.values()) {
+                TestCaseResult result = results.get(index);
+                long sequence = firstSequence + index;
+                int status = AllureToZephyrSync.mapStatus(result.status);
+                String executionId = executions.get(result.id);
+                if (executionId == null) {
+                    failedResults.incrementAndGet();
+                    continue;
+                }
+                if (journal != null && journal.isUnchanged(executionId, status)) {
+                    unchangedResults.incrementAndGet();
+                    continue;
+                }
+                if (bulk != null) {
+                    bulk.add(executionId, status, sequence);
+                } else {
+                    String comment = linkReport && !reportHolder.equals(executionId) ? reports.linkComment(reportHolder) : null;
+                    Double flipRate = flakyTests.get(result.id);
+                    if (flipRate != null) {
+                        String flaky = String.format("Flaky: status changed in %.0f%% of recent runs", flipRate * 100);
+                        comment = comment == null ? flaky : flaky + "\n" + comment;
+                    }
+                    dispatcher.submit(executionId, status, comment, sequence);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            updating.close();
+        }
+    }
+
+    /**
+     * Creates the executions this chunk claimed and completes their futures. A failed creation is
+     * removed from the map again, so a later chunk with the same issue tries once more.
+     */
+    private void createOwned(Map<String, CompletableFuture<String>> owned, Map<String, String> executions) {
+        if (owned.isEmpty()) {
+            return;
+        }
+        Map<String, String> created = new HashMap<>(owned.size() * 4 / 3 + 1);
+        try {
+            client.createExecutionsWithRetry(new ArrayList<>(owned.keySet()), cycleId, projectId, created, options.maxAttempts, options.backoffMs);
+            recordInJournal(created);
+        } catch (IOException e) {
+            System.out.printf("❗Creating executions for %d issues failed: %s%n", owned.size(), e.getMessage());
+        } finally {
+            for (Map.Entry<String, CompletableFuture<String>> creation : owned.entrySet()) {
+                String executionId = created.get(creation.getKey());
+                if (executionId != null) {
+                    executions.put(creation.getKey(), executionId);
+                } else {
+                    createdExecutions.remove(creation.getKey(), creation.getValue());
+                }
+                creation.getValue().complete(executionId);
+            }
+        }
+    }
+
+    /** A journal write failure only costs resumability; the executions exist and still get their status. */
+    private void recordInJournal(Map<String, String> created) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.recordExecutions(created);
+        } catch (IOException e) {
+            System.out.println("❗Failed to write sync journal: " + e.getMessage());
+        }
+    }
+
+    /** Flushes every stage and waits until all updates have been sent. */
+    public void finish() throws InterruptedException {
+        SyncMetrics.PhaseScope drain = metrics.timePhase("drain");
+        try {
+            flushChunk();
+            creators.shutdown();
+            while (!creators.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.out.println("⏳ Still creating executions...");
+            }
+            SyncMetrics.PhaseScope update = metrics.timePhase("update");
+            try {
+                if (bulk != null) {
+                    bulk.flush();
+                }
+                dispatcher.awaitCompletion();
+            } finally {
+                update.close();
+            }
+        } finally {
+            drain.close();
+        }
+
+        if (unchangedResults.get() > 0) {
+            System.out.printf("⏭️ Skipped %d results whose status was already pushed%n", unchangedResults.get());
+        }
+        if (failedResults.get() > 0) {
+            System.out.printf("❗%d results could not be added to cycle %s%n", failedResults.get(), cycleId);
+        }
+    }
+}
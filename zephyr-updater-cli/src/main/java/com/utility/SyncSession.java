@@ -0,0 +1,88 @@
+package com.utility;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One sync run: results go through the reduction stage into the per-project shards, and the run is
+ * recorded in the history once every project has synced. Results can be pushed one at a time while
+ * tests are still running ({@link #add}) or handed over as a whole at the end ({@link #process}).
+ */
+public class SyncSession implements ResultSink {
+    private final ZephyrClient client;
+    private final SyncOptions options;
+    private final ShardedSync shards;
+    private final ResultReducer reducer;
+    private final ResultSink intake;
+    private HistoryStore history;
+
+    public SyncSession(ZephyrClient client, ProjectRouter router, SyncOptions options) throws IOException {
+        this(client, router, defaultCycleName(), options);
+    }
+
+    public SyncSession(ZephyrClient client, ProjectRouter router, String cycleName, SyncOptions options) throws IOException {
+        this.client = client;
+        this.options = options;
+        this.shards = new ShardedSync(client, router, cycleName, options);
+        this.reducer = options.reduceResults ? new ResultReducer(ResultReducer.Policy.parse(options.reducePolicy)) : null;
+        this.intake = reducer != null ? reducer.forwardingTo(shards) : shards;
+
+        if (options.historyEnabled && reducer == null) {
+            System.out.println("❗history.enabled needs reduce.enabled, not recording this run");
+        } else if (options.historyEnabled) {
+            history = HistoryStore.open(options.historyDir);
+            Map<String, Double> flaky = history.flakyTests(options.flakyWindowRuns, options.flakyMinRuns, options.flakyThreshold);
+            if (options.flakyComments) {
+                shards.setFlakyTests(flaky);
+            }
+            System.out.printf("👀 %d flaky tests in the last %d of %d recorded runs%n",
+                flaky.size(), Math.min(options.flakyWindowRuns, history.getRunCount()), history.getRunCount());
+        }
+    }
+
+    public static String defaultCycleName() {
+        return "Automation Cycle - " + new SimpleDateFormat("yyyy-MM-dd").format(new Date());
+    }
+
+    /**
+     * Streams a result in as soon as it is known. With reduction on, a test case is only sent again
+     * when a later attempt changes its reduced status.
+     */
+    @Override
+    public void add(TestCaseResult result) throws InterruptedException {
+        intake.add(result);
+    }
+
+    @Override
+    public void flushChunk() throws InterruptedException {
+        shards.flushChunk();
+    }
+
+    /** Takes a complete run at once, so every test case is reduced before anything is sent. */
+    public void process(Iterable<TestCaseResult> results) throws InterruptedException {
+        if (reducer == null) {
+            shards.process(results);
+            return;
+        }
+        long start = System.nanoTime();
+        List<TestCaseResult> reduced = reducer.reduce(results);
+        client.getMetrics().recordPhase("reduce", System.nanoTime() - start);
+        shards.process(reduced);
+    }
+
+    /** Waits for every project, then records the run; fails if any project could not be synced. */
+    public void finish() throws IOException, InterruptedException {
+        shards.finish();
+        if (reducer != null) {
+            reducer.printSummary();
+        }
+        // Only runs that synced completely are recorded, so re-running a failed sync does not count twice.
+        if (history != null) {
+            history.append(System.currentTimeMillis(), reducer.results());
+            System.out.printf("📊 Recorded run %d in %s%n", history.getRunCount(), options.historyDir);
+        }
+    }
+}
@@ -3,9 +3,19 @@ package com.utility;
 public class TestCaseResult {
     public String id;
     public String status;
+    /** Allure's historyId: the same for every retry of one test with one parameter set. */
+    public String historyId;
+    /** End of the attempt in epoch millis, 0 if unknown. */
+    public long stop;
 
     public TestCaseResult(String id, String status) {
         this.id = id;
         this.status = status;
     }
+
+    public TestCaseResult(String id, String status, String historyId, long stop) {
+        this(id, status);
+        this.historyId = historyId;
+        this.stop = stop;
+    }
 }
\ No newline at end of file
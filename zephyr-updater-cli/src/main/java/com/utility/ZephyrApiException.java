@@ -0,0 +1,29 @@
+package com.utility;
+
+import java.io.IOException;
+
+public class ZephyrApiException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final long retryAfterMs;
+
+    public ZephyrApiException(String method, String uri, int statusCode, long retryAfterMs, String body) {
+        super(method + " " + uri + " failed with HTTP " + statusCode + (body == null || body.isEmpty() ? "" : ": " + body));
+        this.statusCode = statusCode;
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /** Delay requested by the server through Retry-After, or -1 when none was sent. */
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+
+    public boolean isThrottled() {
+        return statusCode == 429 || statusCode == 503;
+    }
+}
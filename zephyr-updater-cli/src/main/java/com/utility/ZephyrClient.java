@@ -1,36 +1,143 @@
 package com.utility;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.*;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
+
+public class ZephyrClient implements Closeable {
+    private static final String EXECUTION_ENDPOINT = "/execution";
 
-public class ZephyrClient {
     private final String baseUrl;
     private final String accessKey;
     private final String secretKey;
     private final String accountId;
+    private final CloseableHttpClient httpClient;
+    private final SyncMetrics metrics;
+    private final Semaphore connectionBudget;
 
     public ZephyrClient(String baseUrl, String accessKey, String secretKey, String accountId) {
+        this(baseUrl, accessKey, secretKey, accountId, new HttpPoolSettings());
+    }
+
+    public ZephyrClient(String baseUrl, String accessKey, String secretKey, String accountId, HttpPoolSettings settings) {
         this.baseUrl = baseUrl;
         this.accessKey = accessKey;
         this.secretKey = secretKey;
         this.accountId = accountId;
+        this.httpClient = createHttpClient(settings);
+        this.metrics = new SyncMetrics();
+        this.connectionBudget = null;
+    }
+
+    private ZephyrClient(ZephyrClient shared, int maxConnections) {
+        this.baseUrl = shared.baseUrl;
+        this.accessKey = shared.accessKey;
+        this.secretKey = shared.secretKey;
+        this.accountId = shared.accountId;
+        this.httpClient = shared.httpClient;
+        this.metrics = shared.metrics;
+        this.connectionBudget = new Semaphore(maxConnections);
+    }
+
+    /**
+     * A client over the same pool and metrics that holds at most maxConnections pooled connections at
+     * a time, so one caller cannot take the whole route. Closing it leaves the shared pool open.
+     */
+    public ZephyrClient withConnectionLimit(int maxConnections) {
+        return maxConnections > 0 ? new ZephyrClient(this, maxConnections) : this;
+    }
+
+    private static CloseableHttpClient createHttpClient(HttpPoolSettings settings) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(settings.maxTotal);
+        connectionManager.setDefaultMaxPerRoute(settings.maxPerRoute);
+        connectionManager.setValidateAfterInactivity(2000);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(settings.connectTimeoutMs)
+            .setConnectionRequestTimeout(settings.connectTimeoutMs)
+            .setSocketTimeout(settings.socketTimeoutMs)
+            .build();
+
+        HttpClientBuilder builder = HttpClients.custom();
+        if (settings.proxy != null) {
+            System.out.println("🌐 Using proxy " + settings.proxy);
+            settings.proxy.applyTo(builder);
+        }
+        return builder
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .setKeepAliveStrategy((response, context) -> {
+                long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? Math.min(serverKeepAlive, settings.keepAliveMs) : settings.keepAliveMs;
+            })
+            .evictExpiredConnections()
+            .evictIdleConnections(settings.idleEvictMs, TimeUnit.MILLISECONDS)
+            .build();
     }
 
-    private HttpResponse sendRequest(String method, String uri, StringEntity entity) throws IOException {
+    /** Reads a successful response body; the stream is drained and released after the reader returns. */
+    interface ResponseReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    private String sendRequest(String method, String uri, String payload) throws IOException {
+        return sendRequest(method, uri, payload, body -> readString(body));
+    }
+
+    private <T> T sendRequest(String method, String uri, String payload, ResponseReader<T> reader) throws IOException {
+        return sendEntity(method, uri, payload != null ? new StringEntity(payload, ContentType.APPLICATION_JSON) : null, reader);
+    }
+
+    private <T> T sendEntity(String method, String uri, HttpEntity entity, ResponseReader<T> reader) throws IOException {
+        long start = System.nanoTime();
+        long[] bytesReceived = {0};
+        boolean failed = true;
+        try {
+            T result = execute(method, uri, entity, reader, bytesReceived);
+            failed = false;
+            return result;
+        } finally {
+            long bytesSent = entity == null ? 0
+                : entity instanceof ZipMultipartEntity ? ((ZipMultipartEntity) entity).getBytesWritten()
+                : Math.max(0, entity.getContentLength());
+            metrics.recordRequest(SyncMetrics.endpoint(uri), System.nanoTime() - start, bytesSent, bytesReceived[0], failed);
+        }
+    }
+
+    private <T> T execute(String method, String uri, HttpEntity entity, ResponseReader<T> reader, long[] bytesReceived) throws IOException {
         String jwt = JwtGenerator.generateJwt(method, uri, baseUrl, accessKey, secretKey);
-        HttpClient client = HttpClients.createDefault();
         HttpRequestBase request;
 
         String fullUrl = baseUrl + uri;
@@ -51,41 +158,290 @@ public class ZephyrClient {
 
         request.setHeader("Authorization", jwt);
         request.setHeader("zapiAccessKey", accessKey);
-        request.setHeader("Content-Type", "application/json");
+        request.setHeader("Content-Type", entity != null && entity.getContentType() != null
+            ? entity.getContentType().getValue() : "application/json");
+
+        if (connectionBudget != null) {
+            try {
+                connectionBudget.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for a connection to " + uri);
+            }
+        }
+        // Reading the entity to the end and closing the response hands the connection back to the pool.
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            HttpEntity responseEntity = response.getEntity();
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (responseEntity == null) {
+                if (statusCode < 200 || statusCode >= 300) {
+                    throw new ZephyrApiException(method, uri, statusCode, retryAfterMs(response.getFirstHeader("Retry-After")), "");
+                }
+                return reader.read(new ByteArrayInputStream(new byte[0]));
+            }
+
+            CountingInputStream body = new CountingInputStream(responseEntity.getContent());
+            try {
+                if (statusCode < 200 || statusCode >= 300) {
+                    throw new ZephyrApiException(method, uri, statusCode, retryAfterMs(response.getFirstHeader("Retry-After")), readString(body));
+                }
+                return reader.read(body);
+            } finally {
+                drain(body);
+                bytesReceived[0] = body.count;
+            }
+        } finally {
+            if (connectionBudget != null) {
+                connectionBudget.release();
+            }
+        }
+    }
+
+    private static String readString(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (in.read(buffer) != -1) {
+            // discard unread bytes so the connection can be reused
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) count += read;
+            return read;
+        }
+
+        /** Readers may close what they were given; the stream is drained first and released with the response. */
+        @Override
+        public void close() {
+        }
+    }
 
-        return client.execute(request);
+    private static long retryAfterMs(Header header) {
+        if (header == null || header.getValue() == null) {
+            return -1;
+        }
+        String value = header.getValue().trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            Date date = DateUtils.parseDate(value);
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        }
     }
 
     public String createCycle(String name, int projectId, int versionId) throws IOException {
         String uri = "/public/rest/api/1.0/cycle";
-        String payload = String.format("{"name":"%s", "projectId":%d, "versionId":%d}", name, projectId, versionId);
-        HttpResponse response = sendRequest("POST", uri, new StringEntity(payload));
-        return EntityUtils.toString(response.getEntity());
+        return sendRequest("POST", uri, cyclePayload(name, projectId, versionId));
     }
 
     public Map<String, String> createExecutions(List<String> issueKeys, String cycleId, int projectId) throws IOException {
-        String uri = "/public/rest/api/1.0/execution";
-        String issues = issueKeys.stream().map(k -> """ + k + """).collect(Collectors.joining(","));
-        String payload = String.format("{"issues":[%s],"cycleId":"%s","projectId":%d,"versionId":-1}", issues, cycleId, projectId);
+        Map<String, String> executionMap = new HashMap<>();
+        createExecutionsInto(issueKeys, cycleId, projectId, executionMap);
+        return executionMap;
+    }
 
-        HttpResponse response = sendRequest("POST", uri, new StringEntity(payload));
-        String json = EntityUtils.toString(response.getEntity());
+    /**
+     * Creates executions for one chunk; results go into {@code target}. POST /execution is not idempotent,
+     * so only attempts the server cannot have acted on are retried: 429s and failures to connect. A
+     * timeout or 5xx after the request was sent may already have created the executions and is thrown.
+     */
+    public void createExecutionsWithRetry(List<String> issueKeys, String cycleId, int projectId,
+                                          Map<String, String> target, int maxAttempts, long backoffMs) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                createExecutionsInto(issueKeys, cycleId, projectId, target);
+                return;
+            } catch (IOException e) {
+                if (!isNotProcessed(e) || attempt >= maxAttempts) {
+                    throw e;
+                }
+                long retryAfter = e instanceof ZephyrApiException ? ((ZephyrApiException) e).getRetryAfterMs() : -1;
+                long pause = retryAfter > 0 ? retryAfter : backoffMs * attempt;
+                metrics.recordRetry(EXECUTION_ENDPOINT);
+                metrics.recordThrottled(EXECUTION_ENDPOINT, TimeUnit.MILLISECONDS.toNanos(pause));
+                try {
+                    Thread.sleep(pause);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while retrying execution creation", interrupted);
+                }
+            }
+        }
+    }
 
-        // Simplified parsing for demonstration purposes
-        Map<String, String> executionMap = new HashMap<>();
-        JsonNode rootNode = new ObjectMapper().readTree(json);
-        rootNode.fields().forEachRemaining(entry -> {
-            String executionId = entry.getKey();
-            String issueKey = entry.getValue().path("issueKey").asText();
-            executionMap.put(issueKey, executionId);
+    /** True when the server rejected or never received the request, so sending a POST again cannot duplicate it. */
+    static boolean isNotProcessed(IOException e) {
+        if (e instanceof ZephyrApiException) {
+            return ((ZephyrApiException) e).getStatusCode() == 429;
+        }
+        return e instanceof ConnectException || e instanceof ConnectTimeoutException
+            || e instanceof ConnectionPoolTimeoutException || e instanceof UnknownHostException;
+    }
+
+    private void createExecutionsInto(List<String> issueKeys, String cycleId, int projectId, Map<String, String> target) throws IOException {
+        String uri = "/public/rest/api/1.0/execution";
+        sendRequest("POST", uri, executionsPayload(issueKeys, cycleId, projectId), body -> {
+            readExecutions(body, target);
+            return null;
         });
+    }
 
-        return executionMap;
+    /** Streams an {executionId: {issueKey: ...}} response into the map without building a tree. */
+    static void readExecutions(InputStream body, Map<String, String> target) throws IOException {
+        try (JsonParser parser = JsonSupport.factory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String executionId = parser.getCurrentName();
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                String issueKey = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    if ("issueKey".equals(field)) {
+                        issueKey = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (issueKey != null) {
+                    target.put(issueKey, executionId);
+                }
+            }
+        }
     }
 
     public void updateExecution(String executionId, int status) throws IOException {
+        updateExecution(executionId, status, null);
+    }
+
+    /** Sets the status and, when {@code comment} is not null, the execution comment in the same call. */
+    public void updateExecution(String executionId, int status, String comment) throws IOException {
         String uri = "/public/rest/api/1.0/execution/" + executionId + "/execute";
-        String payload = String.format("{"status":%d}", status);
-        sendRequest("PUT", uri, new StringEntity(payload));
+        sendRequest("PUT", uri, comment != null ? statusPayload(status, comment) : statusPayload(status));
+    }
+
+    /**
+     * Zips {@code directory} on the fly into a multipart upload attached to the given entity
+     * (e.g. entityName "execution"). Nothing is staged on disk or in memory; returns the response body.
+     */
+    public String uploadAttachment(Path directory, String fileName, String entityName, String entityId,
+                                   int projectId, int compressionLevel) throws IOException {
+        String uri = "/public/rest/api/1.0/attachment?entityName=" + entityName + "&entityId=" + entityId
+            + "&projectId=" + projectId + "&versionId=-1";
+        return sendEntity("POST", uri, new ZipMultipartEntity(directory, fileName, compressionLevel), ZephyrClient::readString);
+    }
+
+    public void bulkUpdateExecutions(List<String> executionIds, int status) throws IOException {
+        String uri = "/public/rest/api/1.0/executions";
+        sendRequest("POST", uri, bulkStatusPayload(executionIds, status));
+    }
+
+    static String cyclePayload(String name, int projectId, int versionId) {
+        return JsonSupport.write(new CyclePayload(name, projectId, versionId));
+    }
+
+    static String executionsPayload(List<String> issueKeys, String cycleId, int projectId) {
+        return JsonSupport.write(new ExecutionsPayload(issueKeys, cycleId, projectId));
+    }
+
+    static String statusPayload(int status) {
+        return JsonSupport.write(new StatusPayload(status, null));
+    }
+
+    static String statusPayload(int status, String comment) {
+        return JsonSupport.write(new StatusPayload(status, comment));
+    }
+
+    static String bulkStatusPayload(List<String> executionIds, int status) {
+        return JsonSupport.write(new BulkStatusPayload(executionIds, status));
+    }
+
+    static class CyclePayload {
+        public final String name;
+        public final int projectId;
+        public final int versionId;
+
+        CyclePayload(String name, int projectId, int versionId) {
+            this.name = name;
+            this.projectId = projectId;
+            this.versionId = versionId;
+        }
+    }
+
+    static class ExecutionsPayload {
+        public final List<String> issues;
+        public final String cycleId;
+        public final int projectId;
+        public final int versionId = -1;
+
+        ExecutionsPayload(List<String> issues, String cycleId, int projectId) {
+            this.issues = issues;
+            this.cycleId = cycleId;
+            this.projectId = projectId;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    static class StatusPayload {
+        public final int status;
+        public final String comment;
+
+        StatusPayload(int status, String comment) {
+            this.status = status;
+            this.comment = comment;
+        }
+    }
+
+    static class BulkStatusPayload {
+        public final List<String> executions;
+        public final int status;
+        public final boolean clearDefectMappingFlag = false;
+        public final boolean testStepStatusChangeFlag = false;
+
+        BulkStatusPayload(List<String> executions, int status) {
+            this.executions = executions;
+            this.status = status;
+        }
+    }
+
+    public SyncMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (connectionBudget == null) {
+            httpClient.close();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package com.utility;
+
+import org.apache.http.entity.AbstractHttpEntity;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * multipart/form-data body with a single "file" part that is a zip of a directory, produced while
+ * the request is being sent. Files are read and deflated straight into the chunked request stream,
+ * so there is no temp file and memory use does not grow with the report size. The body can be
+ * written again for a retry, since it is regenerated from the directory each time.
+ */
+public class ZipMultipartEntity extends AbstractHttpEntity {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final String fileName;
+    private final int compressionLevel;
+    private final String boundary;
+    private volatile long bytesWritten;
+
+    public ZipMultipartEntity(Path directory, String fileName, int compressionLevel) {
+        this.directory = directory;
+        this.fileName = fileName;
+        this.compressionLevel = compressionLevel;
+        this.boundary = "zephyr-" + UUID.randomUUID().toString().replace("-", "");
+        setContentType("multipart/form-data; boundary=" + boundary);
+        setChunked(true);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public InputStream getContent() {
+        throw new UnsupportedOperationException("ZipMultipartEntity can only be written to a stream");
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    /** Bytes of the multipart body sent by the last writeTo. */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void writeTo(OutputStream target) throws IOException {
+        CountingOutputStream out = new CountingOutputStream(new BufferedOutputStream(target, BUFFER_SIZE));
+        out.write(("--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+            + "Content-Type: application/zip\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.setLevel(compressionLevel);
+        try (Stream<Path> files = Files.walk(directory)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                zip.putNextEntry(new ZipEntry(directory.relativize(file).toString().replace('\\', '/')));
+                Files.copy(file, zip);
+                zip.closeEntry();
+            }
+        }
+        zip.finish();
+
+        out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        bytesWritten = out.count;
+    }
+
+    /** Counts what reaches the request stream and leaves closing it to the HTTP client. */
+    private static class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.utility;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class ExecutionUpdateDispatcherTest {
+
+    private static ZephyrClient client(FakeZephyrServer server) {
+        return new ZephyrClient(server.baseUrl(), "test-access-key", "test-secret-key", "test-account");
+    }
+
+    @Test
+    public void throttledUpdatesShrinkTheConcurrencyLimit() throws Exception {
+        FakeZephyrServer.Profile profile = new FakeZephyrServer.Profile();
+        profile.throttleFirst = 8;
+        profile.retryAfterSeconds = 0;
+        try (FakeZephyrServer server = new FakeZephyrServer(profile);
+             ZephyrClient client = client(server)) {
+            ExecutionUpdateDispatcher dispatcher = new ExecutionUpdateDispatcher(client, 8, 8, 5, 20);
+            for (int i = 0; i < 8; i++) {
+                dispatcher.submit("exec-" + i, 1);
+            }
+            dispatcher.awaitCompletion();
+
+            assertEquals(server.getThrottled(), 8);
+            assertEquals(dispatcher.getUpdated(), 8);
+            assertEquals(dispatcher.getFailed(), 0);
+            // halved on the first 429; eight successes cannot grow it back to eight
+            assertTrue(dispatcher.getLimiter().currentLimit() < 8, "limit " + dispatcher.getLimiter().currentLimit());
+        }
+    }
+
+    @Test
+    public void updatesOfOneExecutionAreSentInOrder() throws Exception {
+        FakeZephyrServer.Profile profile = new FakeZephyrServer.Profile();
+        profile.latencyMs = 5;
+        profile.latencyDistribution = "uniform";
+        profile.latencySpread = 1;
+        try (FakeZephyrServer server = new FakeZephyrServer(profile);
+             ZephyrClient client = client(server)) {
+            ExecutionUpdateDispatcher dispatcher = new ExecutionUpdateDispatcher(client, 8, 8, 5, 20);
+            for (int i = 0; i < 50; i++) {
+                dispatcher.submit("exec-1", i % 2 == 0 ? 2 : 1, null, i);
+            }
+            dispatcher.awaitCompletion();
+
+            List<Integer> statuses = server.getStatuses("exec-1");
+            assertEquals(statuses.get(statuses.size() - 1), (Integer) 1);
+            assertEquals(dispatcher.getUpdated() + dispatcher.getSuperseded(), 50);
+        }
+    }
+
+    @Test
+    public void updateOlderThanOneAlreadySubmittedIsDropped() throws Exception {
+        try (FakeZephyrServer server = new FakeZephyrServer();
+             ZephyrClient client = client(server)) {
+            ExecutionUpdateDispatcher dispatcher = new ExecutionUpdateDispatcher(client, 4, 4, 5, 20);
+            dispatcher.submit("exec-1", 1, null, 7);
+            dispatcher.submit("exec-1", 2, null, 3);
+            dispatcher.submit("exec-2", 2, null, 3);
+            dispatcher.awaitCompletion();
+
+            assertEquals(server.getStatuses("exec-1"), Collections.singletonList(1));
+            assertEquals(server.getStatuses("exec-2"), Arrays.asList(2));
+            assertEquals(dispatcher.getSuperseded(), 1);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.utility;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-JVM stand-in for the Zephyr Squad endpoints used by ZephyrClient, for load and soak testing
+ * without network access. Latency, throttling, error rate and response size come from a {@link Profile}.
+ * Created executions and the statuses set on them are recorded, so tests can check what a sync did.
+ */
+public class FakeZephyrServer implements Closeable {
+    private static final String API = "/public/rest/api/1.0";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int LATENCY_BUCKETS = 60000;
+
+    static {
+        // Nagle on the JDK server holds small responses back ~40 ms waiting for the client's delayed ACK,
+        // which would make every load run measure the server instead of the client.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final Profile profile;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService responders;
+    private final AtomicLong ids = new AtomicLong(100000);
+    private final AtomicLongArray latencyMillis = new AtomicLongArray(LATENCY_BUCKETS);
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong attachmentBytes = new AtomicLong();
+    private final AtomicLong bulkRequests = new AtomicLong();
+    private final ConcurrentMap<String, List<String>> executionsByIssue = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<Integer>> statusesByExecution = new ConcurrentHashMap<>();
+
+    private final Object bucketLock = new Object();
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    public static class Profile {
+        /** fixed, uniform or lognormal */
+        public String latencyDistribution = "lognormal";
+        public long latencyMs = 0;
+        public double latencySpread = 0.5;
+        /** Requests per second before the server answers 429; 0 disables throttling. */
+        public double throttleRps = 0;
+        public int throttleBurst = 50;
+        /** The first this many requests are answered 429 whatever the rate. */
+        public int throttleFirst = 0;
+        public long retryAfterSeconds = 1;
+        public double errorRate = 0;
+        public int responsePaddingBytes = 0;
+        public int handlerThreads = 16;
+        /** Answers bulk status updates with 400, like a server without the bulk endpoint. */
+        public boolean rejectBulk = false;
+
+        /** Reads fake.* system properties, e.g. -Dfake.latencyMs=40 -Dfake.throttleRps=200. */
+        public static Profile fromSystemProperties() {
+            Profile profile = new Profile();
+            profile.latencyDistribution = System.getProperty("fake.latencyDistribution", profile.latencyDistribution);
+            profile.latencyMs = Long.getLong("fake.latencyMs", profile.latencyMs);
+            profile.latencySpread = Double.parseDouble(System.getProperty("fake.latencySpread", String.valueOf(profile.latencySpread)));
+            profile.throttleRps = Double.parseDouble(System.getProperty("fake.throttleRps", String.valueOf(profile.throttleRps)));
+            profile.throttleBurst = Integer.getInteger("fake.throttleBurst", profile.throttleBurst);
+            profile.throttleFirst = Integer.getInteger("fake.throttleFirst", profile.throttleFirst);
+            profile.retryAfterSeconds = Long.getLong("fake.retryAfterSeconds", profile.retryAfterSeconds);
+            profile.errorRate = Double.parseDouble(System.getProperty("fake.errorRate", String.valueOf(profile.errorRate)));
+            profile.responsePaddingBytes = Integer.getInteger("fake.responsePaddingBytes", profile.responsePaddingBytes);
+            profile.handlerThreads = Integer.getInteger("fake.handlerThreads", profile.handlerThreads);
+            profile.rejectBulk = Boolean.getBoolean("fake.rejectBulk");
+            return profile;
+        }
+    }
+
+    public FakeZephyrServer() throws IOException {
+        this(new Profile());
+    }
+
+    public FakeZephyrServer(Profile profile) throws IOException {
+        this.profile = profile;
+        this.tokens = profile.throttleBurst;
+        this.handlers = Executors.newFixedThreadPool(Math.max(1, profile.handlerThreads), AllureParser.daemonThreads("fake-zephyr"));
+        this.responders = Executors.newScheduledThreadPool(2, AllureParser.daemonThreads("fake-zephyr-respond"));
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(handlers);
+        server.createContext(API + "/", this::handle);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long startNanos = System.nanoTime();
+        long request = requests.incrementAndGet();
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring(API.length());
+        Random random = ThreadLocalRandom.current();
+
+        int status;
+        String body;
+        if (request <= profile.throttleFirst || !acquireToken()) {
+            throttled.incrementAndGet();
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(profile.retryAfterSeconds));
+            status = 429;
+            body = "{\"error\":\"rate limit exceeded\"}";
+        } else if (profile.errorRate > 0 && random.nextDouble() < profile.errorRate) {
+            errors.incrementAndGet();
+            status = 500;
+            body = "{\"error\":\"injected failure\"}";
+        } else if ("POST".equals(method) && path.equals("/cycle")) {
+            status = 200;
+            body = "{\"id\":\"" + ids.incrementAndGet() + "\"" + padding() + "}";
+        } else if ("POST".equals(method) && path.equals("/execution")) {
+            status = 200;
+            body = executions(exchange.getRequestBody());
+        } else if ("PUT".equals(method) && path.startsWith("/execution/") && path.endsWith("/execute")) {
+            String executionId = path.substring(11, path.length() - 8);
+            recordStatus(Collections.singletonList(executionId), exchange.getRequestBody());
+            status = 200;
+            body = "{\"execution\":{\"id\":\"" + executionId + "\"}" + padding() + "}";
+        } else if ("POST".equals(method) && path.equals("/attachment")) {
+            attachmentBytes.addAndGet(drain(exchange.getRequestBody()));
+            status = 200;
+            body = "{\"id\":\"" + ids.incrementAndGet() + "\"" + padding() + "}";
+        } else if ("POST".equals(method) && path.equals("/executions") && profile.rejectBulk) {
+            bulkRequests.incrementAndGet();
+            status = 400;
+            body = "{\"error\":\"bulk updates are not supported\"}";
+        } else if ("POST".equals(method) && path.equals("/executions")) {
+            bulkRequests.incrementAndGet();
+            recordStatus(null, exchange.getRequestBody());
+            status = 200;
+            body = "{\"jobProgressToken\":\"" + ids.incrementAndGet() + "\"" + padding() + "}";
+        } else {
+            status = 404;
+            body = "{\"error\":\"unknown endpoint " + method + " " + path + "\"}";
+        }
+        drain(exchange.getRequestBody());
+
+        long delay = latency(random);
+        Runnable reply = () -> respond(exchange, status, body, startNanos);
+        if (delay > 0) {
+            responders.schedule(reply, delay, TimeUnit.MILLISECONDS);
+        } else {
+            reply.run();
+        }
+    }
+
+    private String executions(InputStream requestBody) throws IOException {
+        StringBuilder body = new StringBuilder("{");
+        try (JsonParser parser = JSON_FACTORY.createParser(requestBody)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    if (parser.nextToken() == JsonToken.START_ARRAY && "issues".equals(field)) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            String issueKey = parser.getValueAsString();
+                            long executionId = ids.incrementAndGet();
+                            executionsByIssue.computeIfAbsent(issueKey, k -> Collections.synchronizedList(new ArrayList<>()))
+                                .add(String.valueOf(executionId));
+                            if (body.length() > 1) body.append(',');
+                            body.append('"').append(executionId).append("\":{\"issueKey\":\"")
+                                .append(issueKey).append("\"}");
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        if (profile.responsePaddingBytes > 0) {
+            body.append(body.length() > 1 ? "," : "").append(padding().substring(1));
+        }
+        return body.append('}').toString();
+    }
+
+    /** Records the status of a single update, or of a bulk one ({@code executionIds} null) for every execution in it. */
+    private void recordStatus(List<String> executionIds, InputStream requestBody) throws IOException {
+        List<String> targets = executionIds != null ? executionIds : new ArrayList<>();
+        int status = -1;
+        try (JsonParser parser = JSON_FACTORY.createParser(requestBody)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if ("status".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                        status = parser.getIntValue();
+                    } else if ("executions".equals(field) && executionIds == null && value == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            targets.add(parser.getValueAsString());
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        for (String executionId : targets) {
+            statusesByExecution.computeIfAbsent(executionId, k -> Collections.synchronizedList(new ArrayList<>())).add(status);
+        }
+    }
+
+    private String padding() {
+        if (profile.responsePaddingBytes <= 0) {
+            return "";
+        }
+        char[] filler = new char[profile.responsePaddingBytes];
+        Arrays.fill(filler, 'x');
+        return ",\"padding\":\"" + new String(filler) + "\"";
+    }
+
+    private boolean acquireToken() {
+        if (profile.throttleRps <= 0) {
+            return true;
+        }
+        synchronized (bucketLock) {
+            long now = System.nanoTime();
+            tokens = Math.min(profile.throttleBurst, tokens + (now - lastRefillNanos) / 1e9 * profile.throttleRps);
+            lastRefillNanos = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private long latency(Random random) {
+        if (profile.latencyMs <= 0) {
+            return 0;
+        }
+        switch (profile.latencyDistribution.toLowerCase()) {
+            case "fixed":
+                return profile.latencyMs;
+            case "uniform":
+                double spread = profile.latencyMs * profile.latencySpread;
+                return Math.max(0, Math.round(profile.latencyMs - spread + random.nextDouble() * 2 * spread));
+            default:
+                // latencyMs is the median; latencySpread is the sigma of the underlying normal.
+                return Math.round(profile.latencyMs * Math.exp(profile.latencySpread * random.nextGaussian()));
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String body, long startNanos) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+                out.flush();
+            }
+        } catch (IOException e) {
+            exchange.close();
+        } finally {
+            // measured once the body has been flushed and the exchange closed, like the client sees it
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            latencyMillis.incrementAndGet((int) Math.min(millis, LATENCY_BUCKETS - 1));
+        }
+    }
+
+    /** Discards the rest of the request body so the connection can be reused; returns the bytes read. */
+    private static long drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /** Multipart bytes received by POST /attachment. */
+    public long getAttachmentBytes() {
+        return attachmentBytes.get();
+    }
+
+    public long getBulkRequests() {
+        return bulkRequests.get();
+    }
+
+    /** IDs of the executions created for the issue, in creation order. */
+    public List<String> getExecutions(String issueKey) {
+        List<String> executions = executionsByIssue.get(issueKey);
+        return executions != null ? new ArrayList<>(executions) : Collections.emptyList();
+    }
+
+    /** Statuses set on the execution by single and bulk updates, in the order the server received them. */
+    public List<Integer> getStatuses(String executionId) {
+        List<Integer> statuses = statusesByExecution.get(executionId);
+        return statuses != null ? new ArrayList<>(statuses) : Collections.emptyList();
+    }
+
+    /** Server-side response time percentile in milliseconds, including the injected latency. */
+    public long latencyPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            total += latencyMillis.get(i);
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            seen += latencyMillis.get(i);
+            if (seen >= rank && seen > 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responders.shutdownNow();
+        handlers.shutdownNow();
+    }
+}
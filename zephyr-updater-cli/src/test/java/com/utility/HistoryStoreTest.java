@@ -0,0 +1,95 @@
+package com.utility;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class HistoryStoreTest {
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("history-store");
+    }
+
+    @AfterMethod
+    public void deleteDirectory() throws IOException {
+        SyntheticResults.delete(directory);
+    }
+
+    /** One run from "id=status" pairs. */
+    private static List<TestCaseResult> run(String... results) {
+        List<TestCaseResult> run = new ArrayList<>();
+        for (String result : results) {
+            String[] parts = result.split("=");
+            run.add(new TestCaseResult(parts[0], parts[1]));
+        }
+        return run;
+    }
+
+    @Test
+    public void runsAndTestIdsSurviveReopening() throws IOException {
+        HistoryStore store = new HistoryStore(directory);
+        store.append(1000, run("T-1=passed", "T-2=failed"));
+        store.append(2000, run("T-1=failed", "T-2=failed", "T-3=skipped"));
+        store.append(3000, run("T-1=passed", "T-2=failed", "T-4=broken"));
+
+        HistoryStore reopened = new HistoryStore(directory);
+        assertEquals(reopened.getRunCount(), 3);
+        Map<String, Double> rates = reopened.flipRates(10, 2);
+        assertEquals(rates.get("T-1"), 1.0);
+        assertEquals(rates.get("T-2"), 0.0);
+        assertFalse(rates.containsKey("T-3"), "skipped results are not recorded");
+        assertFalse(rates.containsKey("T-4"), "seen in fewer than minRuns runs");
+    }
+
+    @Test
+    public void unindexedTailOfACrashedAppendIsIgnoredAndOverwritten() throws IOException {
+        HistoryStore store = new HistoryStore(directory);
+        store.append(1000, run("T-1=passed"));
+        store.append(2000, run("T-1=failed"));
+
+        // a crash after the test ID and run block were written but before runs.idx
+        Files.write(directory.resolve("tests.dat"), new byte[] {0, 8, 'T', '-'}, StandardOpenOption.APPEND);
+        Files.write(directory.resolve("runs.dat"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13}, StandardOpenOption.APPEND);
+
+        HistoryStore recovered = new HistoryStore(directory);
+        assertEquals(recovered.getRunCount(), 2);
+        recovered.append(3000, run("T-1=passed", "T-9=passed"));
+        recovered.append(4000, run("T-1=passed", "T-9=failed"));
+
+        HistoryStore reopened = new HistoryStore(directory);
+        assertEquals(reopened.getRunCount(), 4);
+        Map<String, Double> rates = reopened.flipRates(10, 2);
+        assertEquals(rates.get("T-1"), 2 / 3.0);
+        assertEquals(rates.get("T-9"), 1.0);
+    }
+
+    @Test
+    public void flipRatesOnlyLookAtTheLastRuns() throws IOException {
+        HistoryStore store = new HistoryStore(directory);
+        String[] statuses = {"passed", "failed", "passed", "failed", "failed", "failed", "failed"};
+        for (int i = 0; i < statuses.length; i++) {
+            store.append(i, run("T-1=" + statuses[i], "T-2=passed"));
+        }
+
+        assertEquals(store.flipRates(7, 2).get("T-1"), 3 / 6.0);
+        assertEquals(store.flipRates(4, 2).get("T-1"), 0.0);
+        assertEquals(store.flipRates(5, 2).get("T-1"), 1 / 4.0);
+        assertFalse(store.flipRates(3, 4).containsKey("T-1"), "fewer runs in the window than minRuns");
+
+        Map<String, Double> flaky = store.flakyTests(7, 2, 0.3);
+        assertEquals(flaky.keySet().size(), 1);
+        assertTrue(flaky.containsKey("T-1"));
+    }
+}
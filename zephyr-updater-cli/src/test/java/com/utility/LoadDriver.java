@@ -0,0 +1,56 @@
+package com.utility;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Replays N synthetic Allure results through AllureToZephyrSync against an embedded FakeZephyrServer
+ * and reports throughput and tail latency. Needs no network and no config.properties.
+ *
+ * <pre>java -Dfake.latencyMs=40 -Dfake.throttleRps=300 -Dupdate.mode=bulk -cp benchmarks/target/benchmarks.jar com.utility.AllureToZephyrSync --load 20000</pre>
+ */
+public class LoadDriver {
+    public static void main(String[] args) throws IOException {
+        int results = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        FakeZephyrServer.Profile profile = FakeZephyrServer.Profile.fromSystemProperties();
+
+        SyncOptions options = new SyncOptions();
+        options.bulkUpdates = "bulk".equalsIgnoreCase(System.getProperty("update.mode", "single"));
+        options.initialConcurrency = Integer.getInteger("update.initialConcurrency", options.initialConcurrency);
+        options.maxConcurrency = Integer.getInteger("update.maxConcurrency", options.maxConcurrency);
+        options.bulkBatchSize = Integer.getInteger("bulk.batchSize", options.bulkBatchSize);
+        options.backoffMs = Long.getLong("update.backoffMs", options.backoffMs);
+
+        Path directory = Files.createTempDirectory("zephyr-load");
+        try (FakeZephyrServer server = new FakeZephyrServer(profile)) {
+            SyntheticResults.write(directory, results, Integer.getInteger("load.steps", 10));
+            options.resultsDir = directory.toString();
+
+            options.metricsJsonPath = System.getProperty("metrics.jsonPath", "");
+            options.metricsPrometheusPath = System.getProperty("metrics.prometheusPath", "");
+
+            long start = System.nanoTime();
+            LatencyHistogram updates;
+            try (ZephyrClient client = new ZephyrClient(server.baseUrl(), "load-access-key", "load-secret-key", "load-account")) {
+                AllureToZephyrSync.run(client, 10000, options);
+                updates = client.getMetrics().latency("update",
+                    options.bulkUpdates ? "/executions" : ExecutionUpdateDispatcher.UPDATE_ENDPOINT);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("📊 %d results in %.2f s: %.1f results/s, %.1f requests/s%n",
+                results, seconds, results / seconds, server.getRequests() / seconds);
+            System.out.printf("📊 requests=%d throttled=%d errors=%d%n",
+                server.getRequests(), server.getThrottled(), server.getErrors());
+            System.out.printf("📊 server latency p50=%d ms p95=%d ms p99=%d ms p99.9=%d ms%n",
+                server.latencyPercentile(50), server.latencyPercentile(95),
+                server.latencyPercentile(99), server.latencyPercentile(99.9));
+            System.out.printf("📊 client update latency p50=%.1f ms p95=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                updates.percentile(50) / 1000.0, updates.percentile(95) / 1000.0,
+                updates.percentile(99) / 1000.0, updates.maxMicros() / 1000.0);
+        } finally {
+            SyntheticResults.delete(directory);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.utility;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class ResultReducerTest {
+
+    private static TestCaseResult attempt(String id, String status, String historyId, long stop) {
+        return new TestCaseResult(id, status, historyId, stop);
+    }
+
+    private static String reduce(ResultReducer.Policy policy, TestCaseResult... results) {
+        List<TestCaseResult> reduced = new ResultReducer(policy).reduce(Arrays.asList(results));
+        assertEquals(reduced.size(), 1);
+        return reduced.get(0).status;
+    }
+
+    @Test
+    public void latestWinsKeepsTheAttemptThatEndedLast() {
+        assertEquals(reduce(ResultReducer.Policy.LATEST_WINS,
+            attempt("T-1", "failed", "h", 100), attempt("T-1", "passed", "h", 200)), "passed");
+        assertEquals(reduce(ResultReducer.Policy.LATEST_WINS,
+            attempt("T-1", "passed", "h", 200), attempt("T-1", "failed", "h", 100)), "passed");
+    }
+
+    @Test
+    public void latestWinsFallsBackToArrivalOrderWithoutTimestamps() {
+        assertEquals(reduce(ResultReducer.Policy.LATEST_WINS,
+            attempt("T-1", "passed", "h", 0), attempt("T-1", "broken", "h", 0)), "broken");
+    }
+
+    @Test
+    public void worstWinsKeepsTheMostSevereRetry() {
+        assertEquals(reduce(ResultReducer.Policy.WORST_WINS,
+            attempt("T-1", "failed", "h", 100), attempt("T-1", "passed", "h", 200)), "failed");
+        assertEquals(reduce(ResultReducer.Policy.WORST_WINS,
+            attempt("T-1", "broken", "h", 100), attempt("T-1", "failed", "h", 200), attempt("T-1", "passed", "h", 300)), "failed");
+    }
+
+    @Test
+    public void passIfAnyPassedAcceptsOnePassingRetry() {
+        assertEquals(reduce(ResultReducer.Policy.PASS_IF_ANY_PASSED,
+            attempt("T-1", "passed", "h", 100), attempt("T-1", "failed", "h", 200)), "passed");
+        assertEquals(reduce(ResultReducer.Policy.PASS_IF_ANY_PASSED,
+            attempt("T-1", "failed", "h", 100), attempt("T-1", "broken", "h", 200)), "broken");
+    }
+
+    @Test
+    public void parameterSetsAreCombinedWorstWinsWhateverThePolicy() {
+        for (ResultReducer.Policy policy : ResultReducer.Policy.values()) {
+            assertEquals(reduce(policy,
+                attempt("T-1", "passed", "a", 100), attempt("T-1", "broken", "b", 100), attempt("T-1", "passed", "c", 100)),
+                "broken", policy.name());
+        }
+    }
+
+    @Test
+    public void resultsWithoutAZephyrStatusAreDropped() {
+        List<TestCaseResult> reduced = new ResultReducer(ResultReducer.Policy.LATEST_WINS).reduce(Arrays.asList(
+            attempt("T-1", "skipped", "h", 100), attempt("T-2", "unknown", "h", 100), attempt("T-3", "passed", "h", 100)));
+        assertEquals(reduced.size(), 1);
+        assertEquals(reduced.get(0).id, "T-3");
+    }
+
+    @Test
+    public void policyNamesParseInAnyCase() {
+        assertEquals(ResultReducer.Policy.parse("latest"), ResultReducer.Policy.LATEST_WINS);
+        assertEquals(ResultReducer.Policy.parse("WORST_WINS"), ResultReducer.Policy.WORST_WINS);
+        assertEquals(ResultReducer.Policy.parse("passIfAnyPassed"), ResultReducer.Policy.PASS_IF_ANY_PASSED);
+        assertThrows(IllegalArgumentException.class, () -> ResultReducer.Policy.parse("best"));
+    }
+
+    @Test
+    public void forwardingSendsOnlyStatusChanges() throws InterruptedException {
+        List<String> forwarded = new ArrayList<>();
+        ResultSink sink = new ResultReducer(ResultReducer.Policy.LATEST_WINS).forwardingTo(new ResultSink() {
+            @Override
+            public void add(TestCaseResult result) {
+                forwarded.add(result.id + "=" + result.status);
+            }
+
+            @Override
+            public void flushChunk() {
+            }
+        });
+
+        sink.add(attempt("T-1", "failed", "h", 100));
+        sink.add(attempt("T-1", "failed", "h", 200));
+        sink.add(attempt("T-1", "passed", "h", 300));
+        sink.add(attempt("T-1", "skipped", "h", 400));
+
+        assertEquals(forwarded, Arrays.asList("T-1=failed", "T-1=passed"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.utility;
+
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class ResultsWatcherTest {
+
+    @Test(timeOut = 10000)
+    public void emptyAndMalformedResultsDoNotKeepTheWatchAlive() throws Exception {
+        Path directory = Files.createTempDirectory("results-watcher");
+        try {
+            Files.write(directory.resolve("empty-result.json"), new byte[0]);
+            Files.write(directory.resolve("broken-result.json"), "{\"name\": \"half wri".getBytes(StandardCharsets.UTF_8));
+
+            List<TestCaseResult> added = new ArrayList<>();
+            SyncOptions options = new SyncOptions();
+            options.watchPollMs = 20;
+            options.watchSettleMs = 50;
+            options.watchStopFile = "";
+            ResultsWatcher watcher = new ResultsWatcher(directory, new ResultSink() {
+                @Override
+                public void add(TestCaseResult result) {
+                    added.add(result);
+                }
+
+                @Override
+                public void flushChunk() {
+                }
+            }, options);
+            watcher.stop();
+            watcher.run();
+
+            assertTrue(added.isEmpty());
+        } finally {
+            SyntheticResults.delete(directory);
+        }
+    }
+}
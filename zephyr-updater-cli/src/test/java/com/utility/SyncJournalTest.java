@@ -0,0 +1,117 @@
+package com.utility;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class SyncJournalTest {
+    private Path directory;
+    private Path file;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("sync-journal");
+        file = directory.resolve("run.journal");
+    }
+
+    @AfterMethod
+    public void deleteDirectory() throws IOException {
+        SyntheticResults.delete(directory);
+    }
+
+    @Test
+    public void reopenedJournalRestoresCycleExecutionsAndStatuses() throws IOException {
+        try (SyncJournal journal = new SyncJournal(file)) {
+            journal.recordCycle("cycle-1");
+            Map<String, String> created = new HashMap<>();
+            created.put("PROJ-1", "exec-1");
+            created.put("PROJ-2", "exec-2");
+            journal.recordExecutions(created);
+            journal.recordStatus("exec-1", 1);
+            journal.recordStatus("exec-2", 2);
+        }
+
+        try (SyncJournal journal = new SyncJournal(file)) {
+            assertEquals(journal.getCycleId(), "cycle-1");
+            assertEquals(journal.getExecutionId("PROJ-1"), "exec-1");
+            assertEquals(journal.getExecutionId("PROJ-2"), "exec-2");
+            assertEquals(journal.size(), 2);
+            assertTrue(journal.isUnchanged("exec-1", 1));
+            assertFalse(journal.isUnchanged("exec-1", 2));
+            assertTrue(journal.isUnchanged("exec-2", 2));
+        }
+    }
+
+    @Test
+    public void tornLastLineIsDroppedAndLaterEntriesStartOnANewLine() throws IOException {
+        try (SyncJournal journal = new SyncJournal(file)) {
+            journal.recordCycle("cycle-1");
+            journal.recordExecutions(Collections.singletonMap("PROJ-1", "exec-1"));
+        }
+        Files.write(file, "E\tPROJ-2\texec-".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (SyncJournal journal = new SyncJournal(file)) {
+            assertEquals(journal.getExecutionId("PROJ-1"), "exec-1");
+            assertNull(journal.getExecutionId("PROJ-2"));
+            journal.recordExecutions(Collections.singletonMap("PROJ-3", "exec-3"));
+        }
+
+        try (SyncJournal journal = new SyncJournal(file)) {
+            assertEquals(journal.getCycleId(), "cycle-1");
+            assertEquals(journal.getExecutionId("PROJ-3"), "exec-3");
+            assertEquals(journal.size(), 2);
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            assertFalse(line.contains("PROJ-2"), line);
+        }
+    }
+
+    @Test
+    public void supersededLinesAreCompactedIntoASnapshot() throws IOException {
+        try (SyncJournal journal = new SyncJournal(file)) {
+            journal.recordCycle("cycle-1");
+            journal.recordExecutions(Collections.singletonMap("PROJ-1", "exec-1"));
+            for (int i = 0; i < 25000; i++) {
+                journal.recordStatus("exec-1", i % 2);
+            }
+            journal.recordStatus("exec-1", 2);
+        }
+
+        // 25003 lines were written; without compaction they would all still be there
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertTrue(lines.size() < 10000, "journal still has " + lines.size() + " lines");
+        assertFalse(Files.exists(directory.resolve("run.journal.tmp")));
+
+        try (SyncJournal journal = new SyncJournal(file)) {
+            assertEquals(journal.getCycleId(), "cycle-1");
+            assertEquals(journal.getExecutionId("PROJ-1"), "exec-1");
+            assertTrue(journal.isUnchanged("exec-1", 2));
+        }
+    }
+
+    @Test
+    public void journalLargerThanTheCompactionThresholdIsCompactedOnOpen() throws IOException {
+        StringBuilder content = new StringBuilder("C\tcycle-1\nE\tPROJ-1\texec-1\n");
+        for (int i = 0; i < 12000; i++) {
+            content.append("S\texec-1\t").append(SyncJournal.statusHash("exec-1", i % 3)).append('\n');
+        }
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        try (SyncJournal journal = new SyncJournal(file)) {
+            assertTrue(journal.isUnchanged("exec-1", 11999 % 3));
+        }
+        assertEquals(Files.readAllLines(file, StandardCharsets.UTF_8).size(), 3);
+    }
+}
@@ -0,0 +1,107 @@
+package com.utility;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class SyncPipelineTest {
+    private static final int PASSED = 1;
+    private static final int FAILED = 2;
+
+    private static SyncOptions options(int chunkSize) {
+        SyncOptions options = new SyncOptions();
+        options.chunkSize = chunkSize;
+        options.createParallelism = 4;
+        options.initialConcurrency = 8;
+        options.maxConcurrency = 8;
+        options.backoffMs = 20;
+        return options;
+    }
+
+    private static void sync(FakeZephyrServer server, SyncOptions options, String... results) throws Exception {
+        try (ZephyrClient client = new ZephyrClient(server.baseUrl(), "test-access-key", "test-secret-key", "test-account")) {
+            SyncPipeline pipeline = new SyncPipeline(client, "cycle-1", 10000, options);
+            for (String result : results) {
+                String[] parts = result.split("=");
+                pipeline.add(new TestCaseResult(parts[0], parts[1]));
+            }
+            pipeline.finish();
+        }
+    }
+
+    /** The statuses the single execution of the issue received; fails if it was created more than once. */
+    private static List<Integer> statuses(FakeZephyrServer server, String issueKey) {
+        List<String> executions = server.getExecutions(issueKey);
+        assertEquals(executions.size(), 1, issueKey + " executions");
+        return server.getStatuses(executions.get(0));
+    }
+
+    @Test
+    public void duplicateKeyInOneChunkSendsOnlyTheLastStatus() throws Exception {
+        try (FakeZephyrServer server = new FakeZephyrServer()) {
+            sync(server, options(10), "T-1=failed", "T-2=passed", "T-1=passed");
+
+            assertEquals(statuses(server, "T-1"), Collections.singletonList(PASSED));
+            assertEquals(statuses(server, "T-2"), Collections.singletonList(PASSED));
+        }
+    }
+
+    @Test
+    public void duplicateKeyAcrossChunksIsCreatedOnceAndEndsWithTheLastStatus() throws Exception {
+        FakeZephyrServer.Profile profile = new FakeZephyrServer.Profile();
+        profile.latencyMs = 5;
+        profile.latencyDistribution = "uniform";
+        profile.latencySpread = 1;
+        try (FakeZephyrServer server = new FakeZephyrServer(profile)) {
+            String[] results = new String[200];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = "T-" + (i % 10) + "=" + (i % 3 == 0 ? "failed" : "passed");
+            }
+            sync(server, options(1), results);
+
+            for (int key = 0; key < 10; key++) {
+                String last = results[results.length - 10 + key];
+                List<Integer> statuses = statuses(server, "T-" + key);
+                assertFalse(statuses.isEmpty(), "T-" + key);
+                assertEquals(statuses.get(statuses.size() - 1), last.endsWith("passed") ? (Integer) PASSED : (Integer) FAILED, "T-" + key);
+            }
+        }
+    }
+
+    @Test
+    public void rejectedBulkUpdatesFallBackToSingleUpdates() throws Exception {
+        FakeZephyrServer.Profile profile = new FakeZephyrServer.Profile();
+        profile.rejectBulk = true;
+        try (FakeZephyrServer server = new FakeZephyrServer(profile)) {
+            SyncOptions options = options(10);
+            options.bulkUpdates = true;
+            options.bulkBatchSize = 4;
+            sync(server, options, "T-1=passed", "T-2=failed", "T-3=passed", "T-4=passed", "T-5=passed", "T-2=passed");
+
+            assertTrue(server.getBulkRequests() > 0);
+            for (String issueKey : Arrays.asList("T-1", "T-2", "T-3", "T-4", "T-5")) {
+                assertEquals(statuses(server, issueKey), Collections.singletonList(PASSED), issueKey);
+            }
+        }
+    }
+
+    @Test
+    public void bulkUpdatesSetTheLastStatusOfEachExecution() throws Exception {
+        try (FakeZephyrServer server = new FakeZephyrServer()) {
+            SyncOptions options = options(2);
+            options.bulkUpdates = true;
+            options.bulkBatchSize = 3;
+            sync(server, options, "T-1=failed", "T-2=failed", "T-1=passed", "T-3=failed", "T-2=passed", "T-3=passed");
+
+            assertTrue(server.getBulkRequests() > 0);
+            for (String issueKey : Arrays.asList("T-1", "T-2", "T-3")) {
+                List<Integer> statuses = statuses(server, issueKey);
+                assertEquals(statuses.get(statuses.size() - 1), (Integer) PASSED, issueKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.utility;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class SyncSessionTest {
+
+    /** What the Cucumber plugin does for a scenario that fails and passes on retry: two streamed batches. */
+    @Test
+    public void streamedRetryThatPassesLeavesTheExecutionPassed() throws Exception {
+        FakeZephyrServer.Profile profile = new FakeZephyrServer.Profile();
+        profile.latencyMs = 5;
+        profile.latencyDistribution = "uniform";
+        profile.latencySpread = 1;
+        SyncOptions options = new SyncOptions();
+        options.createParallelism = 4;
+        options.backoffMs = 20;
+
+        try (FakeZephyrServer server = new FakeZephyrServer(profile);
+             ZephyrClient client = new ZephyrClient(server.baseUrl(), "test-access-key", "test-secret-key", "test-account")) {
+            SyncSession session = new SyncSession(client, ProjectRouter.single(10000), "Streaming cycle", options);
+            for (int i = 0; i < 50; i++) {
+                session.add(new TestCaseResult("T-" + i, "failed", "scenario-" + i, 1000));
+            }
+            session.flushChunk();
+            for (int i = 0; i < 50; i++) {
+                session.add(new TestCaseResult("T-" + i, "passed", "scenario-" + i, 2000));
+            }
+            session.flushChunk();
+            session.finish();
+
+            for (int i = 0; i < 50; i++) {
+                List<String> executions = server.getExecutions("T-" + i);
+                assertEquals(executions.size(), 1, "T-" + i + " executions");
+                List<Integer> statuses = server.getStatuses(executions.get(0));
+                assertEquals(statuses.get(statuses.size() - 1), (Integer) 1, "T-" + i + " statuses " + statuses);
+            }
+        }
+    }
+}
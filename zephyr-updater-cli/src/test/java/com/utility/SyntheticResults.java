@@ -0,0 +1,51 @@
+package com.utility;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class SyntheticResults {
+    private static final String[] STATUSES = {"passed", "passed", "passed", "failed", "broken", "skipped"};
+
+    /** Writes {@code count} Allure result files, each padded with {@code steps} steps and attachments. */
+    public static void write(Path directory, int count, int steps) throws IOException {
+        Files.createDirectories(directory);
+        Random random = new Random(42);
+
+        for (int i = 0; i < count; i++) {
+            Path file = directory.resolve(String.format("%08d-result.json", i));
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("{\"uuid\":\"" + i + "\",\"name\":\"Synthetic test " + i + "\",");
+                out.write("\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\",");
+                out.write("\"steps\":[");
+                for (int s = 0; s < steps; s++) {
+                    if (s > 0) out.write(',');
+                    out.write("{\"name\":\"step " + s + "\",\"status\":\"passed\",\"parameters\":[{\"name\":\"p\",\"value\":\"" + s + "\"}],\"steps\":[]}");
+                }
+                out.write("],\"attachments\":[");
+                for (int a = 0; a < steps / 4; a++) {
+                    if (a > 0) out.write(',');
+                    out.write("{\"name\":\"log\",\"source\":\"" + i + "-" + a + "-attachment.txt\",\"type\":\"text/plain\"}");
+                }
+                out.write("],\"labels\":[{\"name\":\"severity\",\"value\":\"normal\"},");
+                out.write("{\"name\":\"testCaseId\",\"value\":\"JIRA-" + i + "\"}],");
+                out.write("\"start\":" + (1700000000000L + i) + ",\"stop\":" + (1700000000100L + i) + "}");
+            }
+        }
+    }
+
+    public static void delete(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}